@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Same command line as the JMH main class, with the GC profiler always on, so every run reports
+ * gc.alloc.rate.norm (bytes allocated per operation) next to the throughput.
+ * <p>
+ * {@code mvn -pl benchmarks -am package -DskipTests && java -jar benchmarks/target/benchmarks.jar [regexp]}
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
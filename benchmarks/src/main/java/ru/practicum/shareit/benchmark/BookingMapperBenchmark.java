@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mostly the cost of the two LocalDateTime.parse calls of the start and end of the booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    private BookingRequestDto bookingRequestDto;
+
+    @Setup
+    public void setUp() {
+        bookingRequestDto = BookingRequestDto.builder()
+                .start("2030-01-01T10:00:00")
+                .end("2030-01-02T10:00:00.123456")
+                .itemId(1L)
+                .build();
+    }
+
+    @Benchmark
+    public Booking toBooking() {
+        return BookingMapper.toBooking(bookingRequestDto);
+    }
+}
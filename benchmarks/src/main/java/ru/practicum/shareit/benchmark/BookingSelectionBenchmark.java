@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.booking.Status;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Last/next booking selection of a page of items, with the repository answering from memory,
+ * so only the service's own work on the result is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingSelectionBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private Set<Long> itemIds;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        itemIds = LongStream.rangeClosed(1, items)
+                .boxed()
+                .collect(Collectors.toSet());
+        List<Booking> last = itemIds.stream()
+                .map(itemId -> new Booking(itemId, now.minusDays(2), now.minusDays(1), itemId, 2L, Status.APPROVED))
+                .collect(Collectors.toList());
+        List<Booking> next = itemIds.stream()
+                .map(itemId -> new Booking(items + itemId, now.plusDays(1), now.plusDays(2), itemId, 2L,
+                        Status.APPROVED))
+                .collect(Collectors.toList());
+
+        BookingRepository repository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(),
+                new Class<?>[]{BookingRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findLastByItemIdIn":
+                            return last;
+                        case "findNextByItemIdIn":
+                            return next;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        bookingService = new BookingServiceImpl(repository, null, null);
+    }
+
+    @Benchmark
+    public Map<Long, Booking> getLastBookingsByItemIds() {
+        return bookingService.getLastBookingsByItemIds(itemIds, Status.APPROVED);
+    }
+
+    @Benchmark
+    public Map<Long, Booking> getNextBookingsByItemIds() {
+        return bookingService.getNextBookingsByItemIds(itemIds, Status.APPROVED);
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the gateway does with a server response body, from the WebClient exchange to the bytes Spring MVC writes.
+ * It used to decode the body into a tree of maps and lists and let the JSON converter encode it again; now it
+ * joins the received buffers into a byte array that the byte array converter writes as is.
+ * <p>
+ * The WebClient runs on a stub connector that answers with the canned server body, split into buffers
+ * as the connection would deliver it, so the real exchange function and client response decode it.
+ * The response handling mirrors {@code BaseClient.prepareGatewayResponse}: the gateway cannot join
+ * the server on this classpath, the two modules share class names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPassThroughBenchmark {
+    private static final int RECEIVED_BUFFER_SIZE = 8192;
+
+    @Param({"1", "10", "100"})
+    private int pageSize;
+
+    private WebClient webClient;
+    private HttpMessageConverter<Object> jsonConverter;
+    private HttpMessageConverter<byte[]> byteArrayConverter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] body = objectMapper.writeValueAsBytes(SampleData.itemExtendedDtos(pageSize, 5));
+        List<ByteBuffer> received = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += RECEIVED_BUFFER_SIZE) {
+            received.add(ByteBuffer.wrap(body, offset, Math.min(RECEIVED_BUFFER_SIZE, body.length - offset)));
+        }
+
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090")
+                .clientConnector((method, uri, requestCallback) -> Mono.just(new CannedResponse(received)))
+                .build();
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        byteArrayConverter = new ByteArrayHttpMessageConverter();
+    }
+
+    @Benchmark
+    public byte[] decodeAndEncode() throws IOException {
+        ResponseEntity<Object> response = exchange(Object.class);
+        return write(jsonConverter, response.getBody());
+    }
+
+    @Benchmark
+    public byte[] passThrough() throws IOException {
+        ResponseEntity<byte[]> response = exchange(byte[].class);
+        return write(byteArrayConverter, response.getBody());
+    }
+
+    private <T> ResponseEntity<T> exchange(Class<T> bodyType) {
+        return webClient.get()
+                .uri("/items")
+                .exchangeToMono(response -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.rawStatusCode())
+                            .headers(response.headers().asHttpHeaders());
+                    return response.bodyToMono(bodyType)
+                            .map(builder::body)
+                            .defaultIfEmpty(builder.build());
+                })
+                .block();
+    }
+
+    private static <T> byte[] write(HttpMessageConverter<T> converter, T body) throws IOException {
+        BufferedOutputMessage output = new BufferedOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, output);
+        return output.body.toByteArray();
+    }
+
+    private static class CannedResponse implements ClientHttpResponse {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final List<ByteBuffer> received;
+
+        CannedResponse(List<ByteBuffer> received) {
+            this.received = received;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+            return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.fromIterable(received)
+                    .map(buffer -> DefaultDataBufferFactory.sharedInstance.wrap(buffer.duplicate()));
+        }
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public ByteArrayOutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
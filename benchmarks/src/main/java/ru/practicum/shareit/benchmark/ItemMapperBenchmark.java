@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    private Item item;
+    private ItemDto itemDto;
+    private Comment comment;
+    private User author;
+
+    @Setup
+    public void setUp() {
+        item = new Item(1L, "Дрель", "Простая дрель", true, 1L, 1L);
+        itemDto = ItemMapper.toItemDto(item);
+        comment = new Comment(1L, "Отличная дрель", 1L, 2L, LocalDateTime.of(2022, 6, 1, 12, 0));
+        author = new User(2L, "booker", "booker@user.com");
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemExtendedDto toItemExtendedDto() {
+        return ItemMapper.toItemExtendedDto(item);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return ItemMapper.toItem(itemDto, 1L);
+    }
+
+    @Benchmark
+    public ItemExtendedDto.CommentDto toCommentDto() {
+        return ItemMapper.toCommentDto(comment, author);
+    }
+}
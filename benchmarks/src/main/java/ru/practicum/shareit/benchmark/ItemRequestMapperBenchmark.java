@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestExtendedDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int responses;
+
+    private ItemRequest request;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        request = new ItemRequest(1L, "Нужна дрель", 2L, LocalDateTime.of(2022, 6, 1, 12, 0));
+        items = LongStream.rangeClosed(1, responses)
+                .mapToObj(id -> new Item(id, "Дрель" + id, "Простая дрель", true, 1L, request.getId()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ItemRequestExtendedDto toItemRequestExtendedDto() {
+        return ItemRequestMapper.toItemRequestExtendedDto(request, items);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as the server writes them: one object and a page of the default size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"0", "5"})
+    private int comments;
+
+    private ObjectMapper objectMapper;
+    private ItemExtendedDto item;
+    private List<ItemExtendedDto> items;
+    private BookingResponseDto booking;
+    private List<BookingResponseDto> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        item = SampleData.itemExtendedDto(1L, comments);
+        items = SampleData.itemExtendedDtos(PAGE_SIZE, comments);
+        booking = SampleData.bookingResponseDto(1L);
+        bookings = SampleData.bookingResponseDtos(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] itemExtendedDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] itemExtendedDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
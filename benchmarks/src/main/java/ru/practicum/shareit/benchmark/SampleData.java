@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Responses shaped like the ones of the owner's item list and the booking list.
+ */
+class SampleData {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 6, 1, 12, 0);
+
+    static ItemExtendedDto itemExtendedDto(long id, int comments) {
+        return ItemExtendedDto.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Простая дрель с набором сверл")
+                .available(true)
+                .lastBooking(new Booking(id * 2, NOW.minusDays(2), NOW.minusDays(1), id, 2L, Status.APPROVED))
+                .nextBooking(new Booking(id * 2 + 1, NOW.plusDays(1), NOW.plusDays(2), id, 2L, Status.APPROVED))
+                .comments(LongStream.rangeClosed(1, comments)
+                        .mapToObj(commentId -> new ItemExtendedDto.CommentDto(
+                                commentId, "Отличная дрель, сверлит бетон", "booker", NOW.minusHours(commentId)))
+                        .collect(Collectors.toList()))
+                .request(id)
+                .build();
+    }
+
+    static List<ItemExtendedDto> itemExtendedDtos(int size, int comments) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> itemExtendedDto(id, comments))
+                .collect(Collectors.toList());
+    }
+
+    static BookingResponseDto bookingResponseDto(long id) {
+        return new BookingResponseDto(
+                id,
+                NOW.plusDays(id).toString(),
+                NOW.plusDays(id + 1).toString(),
+                new BookingResponseDto.Item(id, "Дрель " + id, "Простая дрель с набором сверл"),
+                new BookingResponseDto.User(2L, "booker"),
+                Status.APPROVED
+        );
+    }
+
+    static List<BookingResponseDto> bookingResponseDtos(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(SampleData::bookingResponseDto)
+                .collect(Collectors.toList());
+    }
+}
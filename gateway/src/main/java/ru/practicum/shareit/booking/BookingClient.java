@@ -2,12 +2,11 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Map;
@@ -17,20 +16,15 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
     }
 
-    public ResponseEntity<Object> getById(long bookingId, long userId) {
+    public Mono<ResponseEntity<Object>> getById(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByUserId(long userId, State state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByUserId(long userId, State state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -39,7 +33,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(long userId, State state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(long userId, State state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -48,11 +42,29 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, BookingRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> getAllByUserIdAfterCursor(long userId, State state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwnerIdAfterCursor(long userId, State state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, BookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> update(long bookingId, long userId, boolean approved) {
+    public Mono<ResponseEntity<Object>> update(long bookingId, long userId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 }
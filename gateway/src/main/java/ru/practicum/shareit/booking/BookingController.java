@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.markers.Create;
@@ -31,7 +32,7 @@ public class BookingController {
     private final BookingClient client;
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @PathVariable long id,
             @RequestHeader(USER_ID_HEADER) long userId) {
 
@@ -39,7 +40,7 @@ public class BookingController {
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllByUserId(
+    public Mono<ResponseEntity<Object>> getAllByUserId(
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
@@ -56,7 +57,7 @@ public class BookingController {
     }
 
     @GetMapping("owner")
-    public ResponseEntity<Object> getAllByOwnerId(
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
@@ -72,8 +73,42 @@ public class BookingController {
         return client.getAllByOwnerId(userId, stateEnum, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getAllByUserIdAfterCursor(
+            @RequestParam(defaultValue = "ALL", required = false) String state,
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
+
+        State stateEnum;
+        try {
+            stateEnum = State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("{\"error\": \"Unknown state: " + state + "\" }");
+        }
+
+        return client.getAllByUserIdAfterCursor(userId, stateEnum, cursor, size);
+    }
+
+    @GetMapping(path = "owner", params = "cursor")
+    public Mono<ResponseEntity<Object>> getAllByOwnerIdAfterCursor(
+            @RequestParam(defaultValue = "ALL", required = false) String state,
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
+
+        State stateEnum;
+        try {
+            stateEnum = State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("{\"error\": \"Unknown state: " + state + "\" }");
+        }
+
+        return client.getAllByOwnerIdAfterCursor(userId, stateEnum, cursor, size);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(USER_ID_HEADER) long userId,
             @Validated(Create.class) @RequestBody BookingRequestDto bookingRequestDto) {
 
@@ -81,7 +116,7 @@ public class BookingController {
     }
 
     @PatchMapping("{id}")
-    public ResponseEntity<Object> update(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(USER_ID_HEADER) long userId,
                                      @PathVariable long id,
                                      @RequestParam() boolean approved) {
         return client.update(id, userId, approved);
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+/**
+ * Caches successful GET responses of shareit-server keyed by URL and X-Sharer-User-Id.
+ * A cached response is served as is while fresh, after that it is revalidated with If-None-Match
+ * when the server sent an ETag. A client that already holds the cached ETag gets 304 without a body;
+ * a client that sends its own If-None-Match has it forwarded unchanged. Any mutating call proxied by this gateway drops the whole cache,
+ * and responses of GETs that raced with it are not stored.
+ */
+@Slf4j
+public class GatewayResponseCache implements ExchangeFilterFunction {
+    private final Cache<String, CachedResponse> responses;
+    private final Duration freshFor;
+    private final ExchangeStrategies strategies;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GatewayResponseCache(long maxEntries, Duration expireAfterWrite, Duration freshFor,
+                                ExchangeStrategies strategies) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.freshFor = freshFor;
+        this.strategies = strategies;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is2xxSuccessful()) {
+                            invalidateAll();
+                        }
+                    });
+        }
+
+        String key = key(request);
+        List<String> clientETags = request.headers().getIfNoneMatch();
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.isFresh(freshFor)) {
+            return Mono.just(matches(clientETags, cached.getETag()) ? notModified(cached) : toResponse(cached));
+        }
+
+        long requestGeneration = generation.get();
+        ClientRequest conditionalRequest = cached != null && cached.getETag() != null && clientETags.isEmpty()
+                ? ClientRequest.from(request).headers(headers -> headers.setIfNoneMatch(cached.getETag())).build()
+                : request;
+
+        return next.exchange(conditionalRequest)
+                .flatMap(response -> {
+                    if (!clientETags.isEmpty() && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        // the client's own validator matched: the 304 goes back as is
+                        if (cached != null && cached.getETag() != null
+                                && cached.getETag().equals(response.headers().asHttpHeaders().getETag())) {
+                            refresh(key, cached, requestGeneration);
+                        }
+                        return Mono.just(response);
+                    }
+                    if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        return response.releaseBody()
+                                .then(Mono.fromCallable(() -> toResponse(refresh(key, cached, requestGeneration))));
+                    }
+                    if (response.statusCode() != HttpStatus.OK) {
+                        return Mono.just(response);
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> store(key, response.headers().asHttpHeaders(), body, requestGeneration));
+                });
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+        log.debug("Кэш ответов сервера очищен");
+    }
+
+    private CachedResponse refresh(String key, CachedResponse cached, long requestGeneration) {
+        CachedResponse refreshed = cached.refreshed();
+        if (generation.get() == requestGeneration) {
+            responses.put(key, refreshed);
+        }
+        return refreshed;
+    }
+
+    private ClientResponse store(String key, HttpHeaders headers, byte[] body, long requestGeneration) {
+        HttpHeaders cachedHeaders = new HttpHeaders();
+        cachedHeaders.addAll(headers);
+        cachedHeaders.remove(HttpHeaders.DATE);
+        CachedResponse cached = new CachedResponse(HttpHeaders.readOnlyHttpHeaders(cachedHeaders), body,
+                headers.getETag(), System.nanoTime());
+        if (generation.get() == requestGeneration) {
+            responses.put(key, cached);
+        }
+        return toResponse(cached);
+    }
+
+    private ClientResponse toResponse(CachedResponse cached) {
+        DataBuffer body = DefaultDataBufferFactory.sharedInstance.wrap(cached.getBody());
+        return ClientResponse.create(HttpStatus.OK, strategies)
+                .headers(headers -> headers.addAll(cached.getHeaders()))
+                .body(Flux.just(body))
+                .build();
+    }
+
+    private ClientResponse notModified(CachedResponse cached) {
+        return ClientResponse.create(HttpStatus.NOT_MODIFIED, strategies)
+                .headers(headers -> headers.setETag(cached.getETag()))
+                .build();
+    }
+
+    private static boolean matches(List<String> clientETags, String eTag) {
+        return eTag != null && (clientETags.contains(eTag) || clientETags.contains("*"));
+    }
+
+    private static String key(ClientRequest request) {
+        String userId = request.headers().getFirst(USER_ID_HEADER);
+        return request.url() + "|" + (userId != null ? userId : "");
+    }
+
+    @Value
+    private static class CachedResponse {
+        HttpHeaders headers;
+        byte[] body;
+        String eTag;
+        long storedAtNanos;
+
+        boolean isFresh(Duration freshFor) {
+            return System.nanoTime() - storedAtNanos < freshFor.toNanos();
+        }
+
+        CachedResponse refreshed() {
+            return new CachedResponse(headers, body, eTag, System.nanoTime());
+        }
+    }
+}
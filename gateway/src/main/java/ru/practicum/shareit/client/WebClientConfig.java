@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * One connection pool to shareit-server shared by every client; WebClient.Builder picks the connector up,
+ * so ItemClient, BookingClient, UserClient and ItemRequestClient all draw from it.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.client.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.client.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${shareit-server.client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.client.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${shareit-server.client.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector shareItServerConnector(
+            ConnectionProvider shareItServerConnectionProvider,
+            @Value("${shareit-server.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.client.response-timeout:10s}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+    public GatewayResponseCache gatewayResponseCache(
+            @Value("${shareit-server.cache.max-entries:10000}") long maxEntries,
+            @Value("${shareit-server.cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${shareit-server.cache.fresh-for:0s}") Duration freshFor,
+            @Value("${spring.codec.max-in-memory-size:256KB}") DataSize maxInMemorySize) {
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+        return new GatewayResponseCache(maxEntries, expireAfterWrite, freshFor, strategies);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+    public WebClientCustomizer gatewayResponseCacheCustomizer(GatewayResponseCache gatewayResponseCache) {
+        return builder -> builder.filter(gatewayResponseCache);
+    }
+}
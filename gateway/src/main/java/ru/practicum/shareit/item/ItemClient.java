@@ -2,15 +2,15 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,20 +18,15 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
     }
 
-    public ResponseEntity<Object> getById(long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> getById(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,19 +34,23 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long itemId, long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> update(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> delete(long itemId) {
+    public Mono<ResponseEntity<Object>> delete(long itemId) {
         return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> search(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> search(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -61,7 +60,7 @@ public class ItemClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> addComment(long itemId, long userId, CommentRequestDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(long itemId, long userId, CommentRequestDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
@@ -14,13 +14,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.markers.Create;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_SIZE_DEFAULT_TEXT;
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_START_FROM_DEFAULT_TEXT;
@@ -35,7 +38,7 @@ public class ItemController {
     private final ItemClient client;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(
+    public Mono<ResponseEntity<Object>> getAll(
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
@@ -44,7 +47,7 @@ public class ItemController {
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long id) {
 
@@ -52,37 +55,44 @@ public class ItemController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) long userId,
                           @Validated(Create.class) @RequestBody ItemDto itemDto) {
         return client.create(userId, itemDto);
     }
 
+    @PostMapping("batch")
+    @Validated(Create.class)
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                                  @RequestBody List<@Valid ItemDto> itemDtos) {
+        return client.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("{id}")
-    public ResponseEntity<Object> update(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(USER_ID_HEADER) long userId,
                           @PathVariable long id,
                           @RequestBody ItemDto itemDto) {
         return client.update(id, userId, itemDto);
     }
 
     @DeleteMapping("{id}")
-    public void delete(@PathVariable long id) {
-        client.delete(id);
+    public Mono<Void> delete(@PathVariable long id) {
+        return client.delete(id).then();
     }
 
     @GetMapping("search")
-    public ResponseEntity<Object> search(
+    public Mono<ResponseEntity<Object>> search(
             @RequestParam String text,
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
 
         if (text.isBlank()) {
-            return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
+            return Mono.just(new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK));
         }
         return client.search(text, from, size);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long itemId,
             @Validated(Create.class) @RequestBody CommentRequestDto commentDto) {
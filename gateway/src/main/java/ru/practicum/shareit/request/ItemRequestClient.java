@@ -2,11 +2,10 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDescriptionDto;
 
@@ -17,24 +16,19 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
     }
 
-    public ResponseEntity<Object> getById(long requestId, long userId) {
+    public Mono<ResponseEntity<Object>> getById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAllByRequester(long userId) {
+    public Mono<ResponseEntity<Object>> getAllByRequester(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllExisted(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllExisted(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +36,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDescriptionDto descriptionDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDescriptionDto descriptionDto) {
         return post("", userId, descriptionDto);
     }
 }
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.request.dto.ItemRequestDescriptionDto;
 
@@ -29,27 +30,27 @@ public class ItemRequestController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader(USER_ID_HEADER) long userId,
             @Validated(Create.class) @RequestBody ItemRequestDescriptionDto descriptionDto) {
         return client.create(userId, descriptionDto);
     }
 
     @GetMapping("{id}")
-    public  ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @RequestHeader(USER_ID_HEADER) long userId,
             @PathVariable long id) {
         return client.getById(id, userId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllByRequester(
+    public Mono<ResponseEntity<Object>> getAllByRequester(
             @RequestHeader(USER_ID_HEADER) long userId) {
         return client.getAllByRequester(userId);
     }
 
     @GetMapping("all")
-    public ResponseEntity<Object> getAllExisted(
+    public Mono<ResponseEntity<Object>> getAllExisted(
             @RequestHeader(USER_ID_HEADER) long userId,
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
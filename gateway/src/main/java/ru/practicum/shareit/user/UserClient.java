@@ -2,11 +2,10 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -16,32 +15,27 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
     }
 
-    public ResponseEntity<Object> getById(long userId) {
+    public Mono<ResponseEntity<Object>> getById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(long userId, UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Mono<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
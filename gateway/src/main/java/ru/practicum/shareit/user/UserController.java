@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.markers.Update;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -24,29 +25,29 @@ public class UserController {
     private final UserClient client;
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return client.getAll();
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> getById(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable long id) {
         return client.getById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated(Create.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Validated(Create.class) @RequestBody UserDto userDto) {
         return client.create(userDto);
     }
 
     @PatchMapping("{id}")
-    public ResponseEntity<Object> update(@PathVariable long id,
+    public Mono<ResponseEntity<Object>> update(@PathVariable long id,
                           @Validated(Update.class) @RequestBody UserDto userDto) {
         return client.update(id, userDto);
     }
 
     @DeleteMapping("{id}")
-    public void delete(@PathVariable long id) {
-        client.delete(id);
+    public Mono<Void> delete(@PathVariable long id) {
+        return client.delete(id).then();
     }
 
 }
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BaseClientTest {
+    private static final String ETAG = "\"user-1-0\"";
+    private static final String MODIFIED_SINCE = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    private final List<ClientRequest> downstream = new ArrayList<>();
+    private final MockHttpServletRequest incoming = new MockHttpServletRequest();
+    private ClientResponse serverResponse = ClientResponse.create(HttpStatus.NOT_MODIFIED)
+            .header(HttpHeaders.ETAG, ETAG)
+            .build();
+    private final TestClient client = new TestClient(WebClient.builder()
+            .baseUrl("http://localhost:9090/users")
+            .exchangeFunction(request -> {
+                downstream.add(request);
+                return Mono.just(serverResponse);
+            })
+            .build());
+
+    @BeforeEach
+    void setUp() {
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        incoming.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED_SINCE);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGetForwardsConditionalHeadersAndPassesNotModifiedBack() {
+        ResponseEntity<Object> response = client.get("/1").block();
+
+        HttpHeaders forwarded = downstream.get(0).headers();
+        assertEquals(ETAG, forwarded.getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(MODIFIED_SINCE, forwarded.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertFalse(response.hasBody());
+    }
+
+    @Test
+    void testMutationsDoNotForwardConditionalHeaders() {
+        client.patch("/1", "{}").block();
+
+        assertNull(downstream.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertNull(downstream.get(0).headers().getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void testOutsideOfRequestNothingIsForwarded() {
+        RequestContextHolder.resetRequestAttributes();
+
+        client.get("/1").block();
+
+        assertNull(downstream.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void testResponsePassesThroughAsReceived() {
+        String body = "{\"id\": 1,  \"name\": \"Дрель\"}";
+        serverResponse = ClientResponse.create(HttpStatus.CREATED)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body(body)
+                .build();
+
+        ResponseEntity<Object> response = client.post("", "{}").block();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void testErrorResponsePassesThroughWithBody() {
+        String body = "{\"error\": \"Пользователь не найден\"}";
+        serverResponse = ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+
+        ResponseEntity<Object> response = client.get("/1").block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(WebClient rest) {
+            super(rest);
+        }
+    }
+}
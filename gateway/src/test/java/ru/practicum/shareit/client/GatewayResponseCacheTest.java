@@ -0,0 +1,229 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+class GatewayResponseCacheTest {
+    private static final URI ITEMS = URI.create("http://localhost:9090/items");
+    private static final Duration FRESH = Duration.ofMinutes(1);
+
+    private final List<ClientRequest> downstream = new ArrayList<>();
+
+    @Test
+    void testFreshHitDoesNotCallServer() {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> ok("[1]", "\"v1\""));
+
+        assertEquals("[1]", body(cache.filter(get(1L), server)));
+        assertEquals("[1]", body(cache.filter(get(1L), server)));
+
+        assertEquals(1, downstream.size());
+    }
+
+    @Test
+    void testStaleEntryIsRevalidatedAndServedOnNotModified() {
+        GatewayResponseCache cache = cache(Duration.ZERO);
+        ExchangeFunction server = server(request -> downstream.size() == 1
+                ? ok("[1]", "\"v1\"")
+                : ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+        assertEquals("[1]", body(cache.filter(get(1L), server)));
+        ClientResponse revalidated = cache.filter(get(1L), server).block();
+
+        assertEquals(2, downstream.size());
+        assertNull(downstream.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", downstream.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, revalidated.statusCode());
+        assertEquals("[1]", revalidated.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void testStaleEntryIsReplacedOnChange() {
+        GatewayResponseCache cache = cache(Duration.ZERO);
+        ExchangeFunction server = server(request -> downstream.size() == 1
+                ? ok("[1]", "\"v1\"")
+                : ok("[1,2]", "\"v2\""));
+
+        body(cache.filter(get(1L), server));
+
+        assertEquals("[1,2]", body(cache.filter(get(1L), server)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"POST", "PATCH", "DELETE"})
+    void testSuccessfulMutationClearsCache(String method) {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> ok("[1]", null));
+
+        body(cache.filter(get(1L), server));
+        cache.filter(request(HttpMethod.valueOf(method), 1L), server).block();
+        body(cache.filter(get(1L), server));
+
+        assertEquals(3, downstream.size());
+    }
+
+    @Test
+    void testFailedMutationKeepsCache() {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> request.method() == HttpMethod.GET
+                ? ok("[1]", null)
+                : ClientResponse.create(HttpStatus.BAD_REQUEST).build());
+
+        body(cache.filter(get(1L), server));
+        cache.filter(request(HttpMethod.POST, 1L), server).block();
+        body(cache.filter(get(1L), server));
+
+        assertEquals(2, downstream.size());
+    }
+
+    @Test
+    void testResponseInFlightDuringInvalidationIsNotStored() {
+        GatewayResponseCache cache = cache(FRESH);
+        Sinks.One<ClientResponse> inFlight = Sinks.one();
+        ExchangeFunction server = request -> {
+            downstream.add(request);
+            return downstream.size() == 1 ? inFlight.asMono() : Mono.just(ok("[1,2]", null));
+        };
+
+        AtomicReference<String> firstBody = new AtomicReference<>();
+        cache.filter(get(1L), server)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .subscribe(firstBody::set);
+        cache.invalidateAll();
+        inFlight.tryEmitValue(ok("[1]", null));
+
+        assertEquals("[1]", firstBody.get());
+        assertEquals("[1,2]", body(cache.filter(get(1L), server)));
+        assertEquals(2, downstream.size());
+    }
+
+    @Test
+    void testCacheKeySeparatesUsers() {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> ok(
+                "[" + request.headers().getFirst(USER_ID_HEADER) + "]", null));
+
+        assertEquals("[1]", body(cache.filter(get(1L), server)));
+        assertEquals("[2]", body(cache.filter(get(2L), server)));
+        assertEquals("[1]", body(cache.filter(get(1L), server)));
+
+        assertEquals(2, downstream.size());
+    }
+
+    @Test
+    void testFreshHitAnswersNotModifiedToClientHoldingETag() {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> ok("[1]", "\"v1\""));
+
+        body(cache.filter(get(1L), server));
+        ClientResponse response = cache.filter(get(1L, "\"v1\""), server).block();
+
+        assertEquals(1, downstream.size());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+        assertEquals("\"v1\"", response.headers().asHttpHeaders().getETag());
+        assertNull(response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void testFreshHitReturnsBodyToClientHoldingOtherETag() {
+        GatewayResponseCache cache = cache(FRESH);
+        ExchangeFunction server = server(request -> ok("[1]", "\"v1\""));
+
+        body(cache.filter(get(1L), server));
+        ClientResponse response = cache.filter(get(1L, "\"v0\""), server).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals("[1]", response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void testStaleEntryRevalidationKeepsClientETag() {
+        GatewayResponseCache cache = cache(Duration.ZERO);
+        ExchangeFunction server = server(request -> downstream.size() == 1
+                ? ok("[1]", "\"v1\"")
+                : ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\"").build());
+
+        body(cache.filter(get(1L), server));
+        ClientResponse response = cache.filter(get(1L, "\"v1\""), server).block();
+
+        assertEquals("\"v1\"", downstream.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+        assertNull(response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void testStaleEntryRevalidationWithOtherClientETagReturnsBody() {
+        GatewayResponseCache cache = cache(Duration.ZERO);
+        ExchangeFunction server = server(request -> ok("[1]", "\"v1\""));
+
+        body(cache.filter(get(1L), server));
+        ClientResponse response = cache.filter(get(1L, "\"v0\""), server).block();
+
+        assertEquals("\"v0\"", downstream.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals("[1]", response.bodyToMono(String.class).block());
+    }
+
+    private static GatewayResponseCache cache(Duration freshFor) {
+        return new GatewayResponseCache(100, Duration.ofMinutes(10), freshFor, ExchangeStrategies.withDefaults());
+    }
+
+    /**
+     * Records every request that reaches the server.
+     */
+    private ExchangeFunction server(Function<ClientRequest, ClientResponse> responses) {
+        return request -> {
+            downstream.add(request);
+            return Mono.just(responses.apply(request));
+        };
+    }
+
+    private static ClientRequest get(long userId) {
+        return request(HttpMethod.GET, userId);
+    }
+
+    private static ClientRequest get(long userId, String ifNoneMatch) {
+        return ClientRequest.from(get(userId))
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                .build();
+    }
+
+    private static ClientRequest request(HttpMethod method, long userId) {
+        return ClientRequest.create(method, ITEMS)
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .build();
+    }
+
+    private static ClientResponse ok(String body, String eTag) {
+        ClientResponse.Builder response = ClientResponse.create(HttpStatus.OK).body(body);
+        if (eTag != null) {
+            response.header(HttpHeaders.ETAG, eTag);
+        }
+        return response.build();
+    }
+
+    private static String body(Mono<ClientResponse> response) {
+        return response.flatMap(r -> r.bodyToMono(String.class)).block();
+    }
+}
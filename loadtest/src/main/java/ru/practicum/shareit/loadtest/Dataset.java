@@ -0,0 +1,56 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ids of the seeded data, in insertion order, so the ranks of {@link Zipf} pick the same hot owners and items
+ * the seeder gave the most inventory and bookings to.
+ */
+class Dataset {
+    private final long[] users;
+    private final long[] items;
+    private final Zipf owners;
+    private final Zipf hotItems;
+
+    Dataset(Connection connection, double skew) throws SQLException {
+        users = ids(connection, "select id from users order by id");
+        items = ids(connection, "select id from items order by id");
+        if (users.length == 0 || items.length == 0) {
+            throw new IllegalStateException("В базе нет данных, сначала выполните seed");
+        }
+        owners = new Zipf(users.length, skew);
+        hotItems = new Zipf(items.length, skew);
+    }
+
+    long anyUser(Random random) {
+        return users[random.nextInt(users.length)];
+    }
+
+    long owner(Random random) {
+        return users[owners.next(random)];
+    }
+
+    long hotItem(Random random) {
+        return items[hotItems.next(random)];
+    }
+
+    private static long[] ids(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            long[] ids = new long[16];
+            int count = 0;
+            while (resultSet.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = resultSet.getLong(1);
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
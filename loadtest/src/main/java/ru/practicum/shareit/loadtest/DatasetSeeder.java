@@ -0,0 +1,200 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fills the server's database with a skewed dataset: item ownership and booking histories follow
+ * {@link Zipf}, so a few owners hold most of the inventory and a few items hold most of the bookings.
+ * Everything else (bookers, requesters, commenters) is uniform.
+ */
+@Slf4j
+class DatasetSeeder {
+    private static final int BATCH_SIZE = 1_000;
+
+    private final LoadTestConfig config;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+
+    DatasetSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    void seed(Connection connection) throws SQLException {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        connection.setAutoCommit(false);
+
+        long[] users = insertUsers(connection);
+        long[] requests = insertRequests(connection, users);
+        long[][] items = insertItems(connection, users, requests);
+        long[][] pastBookings = insertBookings(connection, users, items);
+        insertComments(connection, pastBookings);
+    }
+
+    private long[] insertUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into users (name, email) values (?, ?)", new String[]{"id"})) {
+            long[] ids = new long[config.users()];
+            for (int i = 0; i < ids.length; i++) {
+                statement.setString(1, "user" + i);
+                statement.setString(2, "user" + i + "-" + runTag + "@load.ru");
+                statement.addBatch();
+                flush(connection, statement, ids, i, ids.length);
+            }
+            log.info("Пользователей: {}", ids.length);
+            return ids;
+        }
+    }
+
+    private long[] insertRequests(Connection connection, long[] users) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into requests (description, requester_id, created) values (?, ?, ?)", new String[]{"id"})) {
+            long[] ids = new long[config.requests()];
+            for (int i = 0; i < ids.length; i++) {
+                statement.setString(1, "Нужна " + Vocabulary.thing(random).toLowerCase());
+                statement.setLong(2, users[random.nextInt(users.length)]);
+                statement.setTimestamp(3, Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60))));
+                statement.addBatch();
+                flush(connection, statement, ids, i, ids.length);
+            }
+            log.info("Запросов: {}", ids.length);
+            return ids;
+        }
+    }
+
+    /**
+     * Returns item ids and their owners' ids.
+     */
+    private long[][] insertItems(Connection connection, long[] users, long[] requests) throws SQLException {
+        Zipf owners = new Zipf(users.length, config.skew());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into items (name, description, available, owner_id, request_id) values (?, ?, ?, ?, ?)",
+                new String[]{"id"})) {
+            long[] ids = new long[config.items()];
+            long[] ownerIds = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                ownerIds[i] = users[owners.next(random)];
+                statement.setString(1, Vocabulary.thing(random));
+                statement.setString(2, Vocabulary.description(random));
+                statement.setBoolean(3, random.nextInt(10) != 0);
+                statement.setLong(4, ownerIds[i]);
+                if (requests.length > 0 && random.nextInt(5) == 0) {
+                    statement.setLong(5, requests[random.nextInt(requests.length)]);
+                } else {
+                    statement.setNull(5, Types.BIGINT);
+                }
+                statement.addBatch();
+                flush(connection, statement, ids, i, ids.length);
+            }
+            log.info("Предметов: {}", ids.length);
+            return new long[][]{ids, ownerIds};
+        }
+    }
+
+    /**
+     * Mostly finished bookings, the rest in the future. Returns item, booker and end (epoch minutes)
+     * of the finished approved ones, the only ones that may be commented.
+     */
+    private long[][] insertBookings(Connection connection, long[] users, long[][] items) throws SQLException {
+        Zipf hotItems = new Zipf(items[0].length, config.skew());
+        long[][] past = new long[3][config.bookings()];
+        int pastCount = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < config.bookings(); i++) {
+                int item = hotItems.next(random);
+                int bookerIndex = random.nextInt(users.length);
+                if (users[bookerIndex] == items[1][item]) {
+                    bookerIndex = (bookerIndex + 1) % users.length;
+                }
+                long booker = users[bookerIndex];
+                LocalDateTime start;
+                LocalDateTime end;
+                String status;
+                if (random.nextInt(100) < 85) {
+                    end = now.minusHours(1 + random.nextInt(2 * 365 * 24));
+                    start = end.minusDays(1 + random.nextInt(7));
+                    int roll = random.nextInt(10);
+                    status = roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELED";
+                    if (status.equals("APPROVED")) {
+                        past[0][pastCount] = items[0][item];
+                        past[1][pastCount] = booker;
+                        past[2][pastCount] = end.toLocalDate().toEpochDay();
+                        pastCount++;
+                    }
+                } else {
+                    start = now.plusHours(1 + random.nextInt(180 * 24));
+                    end = start.plusDays(1 + random.nextInt(7));
+                    status = random.nextBoolean() ? "WAITING" : "APPROVED";
+                }
+                statement.setTimestamp(1, Timestamp.valueOf(start));
+                statement.setTimestamp(2, Timestamp.valueOf(end));
+                statement.setLong(3, items[0][item]);
+                statement.setLong(4, booker);
+                statement.setString(5, status);
+                statement.addBatch();
+                flush(connection, statement, null, i, config.bookings());
+            }
+        }
+        log.info("Бронирований: {}, из них завершенных подтвержденных: {}", config.bookings(), pastCount);
+        return new long[][]{
+                Arrays.copyOf(past[0], pastCount),
+                Arrays.copyOf(past[1], pastCount),
+                Arrays.copyOf(past[2], pastCount)
+        };
+    }
+
+    private void insertComments(Connection connection, long[][] pastBookings) throws SQLException {
+        if (pastBookings[0].length == 0) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < config.comments(); i++) {
+                int booking = random.nextInt(pastBookings[0].length);
+                statement.setString(1, Vocabulary.description(random));
+                statement.setLong(2, pastBookings[0][booking]);
+                statement.setLong(3, pastBookings[1][booking]);
+                statement.setTimestamp(4, Timestamp.valueOf(LocalDate.ofEpochDay(pastBookings[2][booking])
+                        .atStartOfDay().plusHours(1 + random.nextInt(72))));
+                statement.addBatch();
+                flush(connection, statement, null, i, config.comments());
+            }
+        }
+        log.info("Отзывов: {}", config.comments());
+    }
+
+    /**
+     * Sends the batch every {@link #BATCH_SIZE} rows and after the last one, collecting generated ids when asked.
+     */
+    private void flush(Connection connection, PreparedStatement statement, long[] ids, int index, int total)
+            throws SQLException {
+        if ((index + 1) % BATCH_SIZE != 0 && index != total - 1) {
+            return;
+        }
+        statement.executeBatch();
+        if (ids != null) {
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                int position = index - index % BATCH_SIZE;
+                while (keys.next()) {
+                    ids[position++] = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+    }
+}
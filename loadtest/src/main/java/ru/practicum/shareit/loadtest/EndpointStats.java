@@ -0,0 +1,62 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds and outcomes of one endpoint, shared by all workers.
+ */
+class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    /**
+     * @param status HTTP status, or -1 when there was no response
+     */
+    void record(long elapsedNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+        if (status >= 200 && status < 400) {
+            ok.increment();
+        } else if (status == 409) {
+            conflicts.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long conflicts() {
+        return conflicts.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+}
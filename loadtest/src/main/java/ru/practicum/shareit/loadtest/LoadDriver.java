@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load: every worker sends the next request of the {@link Scenario} mix as soon as the previous
+ * one is answered. Requests started during the warmup are not recorded.
+ */
+@Slf4j
+class LoadDriver {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+    private final HttpClient client;
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+
+    LoadDriver(LoadTestConfig config, Dataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats());
+        }
+    }
+
+    void run(PrintStream out) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+        log.info("Нагрузка на {}: {} потоков, прогрев {}, замер {}",
+                config.target(), config.threads(), config.warmup(), config.duration());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            Random random = new Random(config.seed() + i);
+            workers.execute(() -> work(random, warmupEnd, end));
+        }
+        workers.shutdown();
+        workers.awaitTermination(config.warmup().plus(config.duration()).plus(REQUEST_TIMEOUT).toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        report(out, config.duration().toMillis() / 1000.0);
+    }
+
+    private void work(Random random, long warmupEnd, long end) {
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            Scenario scenario = Scenario.pick(random);
+            HttpRequest request = scenario.request(config.target(), dataset, random)
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= warmupEnd) {
+                stats.get(scenario).record(System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    private void report(PrintStream out, double seconds) {
+        String format = "%-20s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "ok", "409", "4xx", "5xx/io");
+        long total = 0;
+        for (Scenario scenario : Scenario.values()) {
+            EndpointStats endpoint = stats.get(scenario);
+            total += endpoint.requests();
+            out.printf(format,
+                    scenario.endpoint(),
+                    endpoint.requests(),
+                    String.format("%.1f", endpoint.requests() / seconds),
+                    String.format("%.2f", endpoint.percentileMillis(50)),
+                    String.format("%.2f", endpoint.percentileMillis(99)),
+                    String.format("%.2f", endpoint.percentileMillis(99.9)),
+                    String.format("%.2f", endpoint.maxMillis()),
+                    endpoint.ok(),
+                    endpoint.conflicts(),
+                    endpoint.clientErrors(),
+                    endpoint.serverErrors());
+        }
+        out.printf("total %d requests, %.1f req/s%n", total, total / seconds);
+    }
+}
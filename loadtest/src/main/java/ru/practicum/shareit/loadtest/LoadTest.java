@@ -0,0 +1,36 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Arrays;
+
+/**
+ * {@code seed} fills the server's database with a skewed synthetic dataset, {@code run} drives the gateway
+ * (or the server, with {@code --target=http://localhost:9090}) with it and prints p50/p99/p999 latency and
+ * throughput per endpoint. Both take {@code --name=value} settings, see {@link LoadTestConfig}.
+ * <p>
+ * H2 stand-in, from the repository root: {@code java -jar loadtest/target/loadtest.jar seed}, then the server with
+ * the {@code ci} profile and {@code --spring.datasource.url=jdbc:h2:file:./loadtest/target/shareit-load;AUTO_SERVER=TRUE},
+ * the gateway with {@code java -jar gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar}, and
+ * {@code java -jar loadtest/target/loadtest.jar run}. Without the gateway, {@code run} needs the server's target.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.err.println("Использование: loadtest.jar seed|run [--name=value ...]");
+            System.exit(1);
+        }
+        LoadTestConfig config = new LoadTestConfig(Arrays.copyOfRange(args, 1, args.length));
+
+        Dataset dataset;
+        try (Connection connection = DriverManager.getConnection(
+                config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword())) {
+            if (args[0].equals("seed")) {
+                new DatasetSeeder(config).seed(connection);
+                return;
+            }
+            dataset = new Dataset(connection, config.skew());
+        }
+        new LoadDriver(config, dataset).run(System.out);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings from {@code --name=value} arguments, each with a default for a local run against H2.
+ */
+class LoadTestConfig {
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadTestConfig(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String jdbcUrl() {
+        return get("jdbc-url", "jdbc:h2:file:./loadtest/target/shareit-load;AUTO_SERVER=TRUE");
+    }
+
+    String jdbcUser() {
+        return get("jdbc-user", "test");
+    }
+
+    String jdbcPassword() {
+        return get("jdbc-password", "test");
+    }
+
+    int users() {
+        return getInt("users", 10_000);
+    }
+
+    int requests() {
+        return getInt("requests", 5_000);
+    }
+
+    int items() {
+        return getInt("items", 100_000);
+    }
+
+    int bookings() {
+        return getInt("bookings", 500_000);
+    }
+
+    int comments() {
+        return getInt("comments", 50_000);
+    }
+
+    /**
+     * Zipf exponent of owners by inventory size and of items by booking history length.
+     */
+    double skew() {
+        return Double.parseDouble(get("skew", "1.1"));
+    }
+
+    long seed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+
+    String target() {
+        return get("target", "http://localhost:8080");
+    }
+
+    int threads() {
+        return getInt("threads", 32);
+    }
+
+    Duration warmup() {
+        return Duration.parse("PT" + get("warmup", "10s"));
+    }
+
+    Duration duration() {
+        return Duration.parse("PT" + get("duration", "60s"));
+    }
+
+    private int getInt(String name, int defaultValue) {
+        return Integer.parseInt(get(name, String.valueOf(defaultValue)));
+    }
+
+    private String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+/**
+ * The requests of the load, each with its share of the mix. Reads dominate, as in production;
+ * booking creation goes to hot items, so its conflicts (409) are part of the picture.
+ */
+enum Scenario {
+    GET_OWNER_ITEMS("GET /items", 20) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/items?from=0&size=10", dataset.owner(random));
+        }
+    },
+    GET_ITEM("GET /items/{id}", 25) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/items/" + dataset.hotItem(random), dataset.anyUser(random));
+        }
+    },
+    SEARCH_ITEMS("GET /items/search", 15) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            String text = URLEncoder.encode(Vocabulary.searchTerm(random), StandardCharsets.UTF_8);
+            return get(target + "/items/search?text=" + text + "&from=0&size=10", dataset.anyUser(random));
+        }
+    },
+    GET_BOOKER_BOOKINGS("GET /bookings", 10) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/bookings?state=ALL&from=0&size=10", dataset.anyUser(random));
+        }
+    },
+    GET_OWNER_BOOKINGS("GET /bookings/owner", 10) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/bookings/owner?state=ALL&from=0&size=10", dataset.owner(random));
+        }
+    },
+    GET_OTHER_REQUESTS("GET /requests/all", 5) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/requests/all?from=0&size=10", dataset.anyUser(random));
+        }
+    },
+    GET_USER("GET /users/{id}", 10) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            return get(target + "/users/" + dataset.anyUser(random), dataset.anyUser(random));
+        }
+    },
+    CREATE_BOOKING("POST /bookings", 5) {
+        @Override
+        HttpRequest.Builder request(String target, Dataset dataset, Random random) {
+            LocalDateTime start = LocalDateTime.now().plusHours(1 + random.nextInt(365 * 24)).withNano(0);
+            String body = "{\"itemId\": " + dataset.hotItem(random) + ", \"start\": \"" + start + "\", " +
+                    "\"end\": \"" + start.plusDays(1 + random.nextInt(3)) + "\"}";
+            return HttpRequest.newBuilder(URI.create(target + "/bookings"))
+                    .header(USER_ID_HEADER, String.valueOf(dataset.anyUser(random)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(s -> s.weight).sum();
+
+    private final String endpoint;
+    private final int weight;
+
+    Scenario(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    abstract HttpRequest.Builder request(String target, Dataset dataset, Random random);
+
+    static Scenario pick(Random random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static HttpRequest.Builder get(String uri, long userId) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .GET();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Random;
+
+/**
+ * Words for item names and descriptions, also the search terms of the load.
+ */
+class Vocabulary {
+    private static final String[] THINGS = {
+            "Дрель", "Пила", "Отвертка", "Молоток", "Лестница", "Палатка", "Велосипед", "Самокат",
+            "Фотоаппарат", "Проектор", "Перфоратор", "Шуруповерт", "Сапборд", "Байдарка", "Гитара", "Мангал"
+    };
+    private static final String[] TRAITS = {
+            "простая", "мощная", "легкая", "складная", "профессиональная", "детская", "почти новая",
+            "с набором насадок", "в чехле", "на аккумуляторе", "для дачи", "для похода"
+    };
+
+    static String thing(Random random) {
+        return THINGS[random.nextInt(THINGS.length)];
+    }
+
+    static String description(Random random) {
+        return thing(random) + " " + TRAITS[random.nextInt(TRAITS.length)] + ", " +
+                TRAITS[random.nextInt(TRAITS.length)];
+    }
+
+    static String searchTerm(Random random) {
+        return random.nextBoolean() ? thing(random).toLowerCase() : TRAITS[random.nextInt(TRAITS.length)];
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ranks 0..n-1 drawn with probability proportional to 1 / (rank + 1)^exponent: rank 0 is the hottest.
+ */
+class Zipf {
+    private final double[] cumulative;
+
+    Zipf(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
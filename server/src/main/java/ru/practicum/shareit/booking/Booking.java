@@ -5,6 +5,8 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.common.ShareItConstants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Table(name = "bookings", schema = "public")
 @Getter
@@ -15,7 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -34,6 +37,12 @@ public class Booking {
     @Column(name = "status", nullable = false)
     private Status status = Status.WAITING;
 
+    @Version
+    private Long version;
+
+    public Booking(Long id, LocalDateTime start, LocalDateTime end, Long itemId, Long bookerId, Status status) {
+        this(id, start, end, itemId, bookerId, status, null);
+    }
 
     @Override
     public boolean equals(Object o) {
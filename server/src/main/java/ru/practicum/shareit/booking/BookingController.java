@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.markers.Create;
@@ -10,8 +13,8 @@ import ru.practicum.shareit.markers.Create;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Min;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.common.ShareItConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_SIZE_DEFAULT_TEXT;
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_START_FROM_DEFAULT_TEXT;
 import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
@@ -27,8 +30,9 @@ public class BookingController {
     @GetMapping("{id}")
     public BookingResponseDto getById(
             @PathVariable long id,
-            @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingMapper.toBookingResponseDto(bookingService.getById(id, userId));
+            @RequestHeader(USER_ID_HEADER) long userId,
+            WebRequest request) {
+        return bookingMapper.toBookingResponseDtoIfModified(bookingService.getById(id, userId), request);
     }
 
     @GetMapping()
@@ -38,21 +42,14 @@ public class BookingController {
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
 
-        State stateEnum;
-        try {
-            stateEnum = State.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException("{\"error\": \"Unknown state: " + state + "\" }");
-        }
+        State stateEnum = toState(state);
 
-        return bookingService.getAllByUserIdOrderByStartDesc(
+        return bookingMapper.toBookingResponseDtos(bookingService.getAllByUserIdOrderByStartDesc(
                         userId,
                         stateEnum,
                         from,
                         size)
-                .stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+                .getContent());
     }
 
     @GetMapping("owner")
@@ -62,21 +59,42 @@ public class BookingController {
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
 
-        State stateEnum;
-        try {
-            stateEnum = State.valueOf(state);
-        } catch (IllegalArgumentException e) {
-            throw new ValidationException("{\"error\": \"Unknown state: " + state + "\" }");
-        }
+        State stateEnum = toState(state);
 
-        return bookingService.getAllByOwnerIdOrderByStartDesc(
+        return bookingMapper.toBookingResponseDtos(bookingService.getAllByOwnerIdOrderByStartDesc(
                         userId,
                         stateEnum,
                         from,
                         size)
-                .stream()
-                .map(bookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+                .getContent());
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingResponseDto>> getAllByUserIdAfterCursor(
+            @RequestParam(defaultValue = "ALL", required = false) String state,
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
+
+        return toCursorResponse(bookingService.getAllByUserIdAfterCursor(
+                userId,
+                toState(state),
+                cursor.isEmpty() ? null : BookingCursor.parse(cursor),
+                size));
+    }
+
+    @GetMapping(path = "owner", params = "cursor")
+    public ResponseEntity<List<BookingResponseDto>> getAllByOwnerIdAfterCursor(
+            @RequestParam(defaultValue = "ALL", required = false) String state,
+            @RequestHeader(USER_ID_HEADER) long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
+
+        return toCursorResponse(bookingService.getAllByOwnerIdAfterCursor(
+                userId,
+                toState(state),
+                cursor.isEmpty() ? null : BookingCursor.parse(cursor),
+                size));
     }
 
     @PostMapping
@@ -94,4 +112,21 @@ public class BookingController {
                                      @RequestParam() boolean approved) {
         return bookingMapper.toBookingResponseDto(bookingService.updateStatus(id, userId, approved));
     }
+
+    private ResponseEntity<List<BookingResponseDto>> toCursorResponse(Slice<Booking> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.hasNext()) {
+            List<Booking> content = bookings.getContent();
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return response.body(bookingMapper.toBookingResponseDtos(bookings.getContent()));
+    }
+
+    private static State toState(String state) {
+        try {
+            return State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("{\"error\": \"Unknown state: " + state + "\" }");
+        }
+    }
 }
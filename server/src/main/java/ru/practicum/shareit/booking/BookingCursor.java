@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a booking listing ordered by start desc, id desc: the start and id of the last booking returned.
+ * Clients receive it as an opaque string and pass it back to get the following bookings.
+ */
+@Value
+public class BookingCursor {
+    LocalDateTime start;
+    Long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor parse(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+            return new BookingCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
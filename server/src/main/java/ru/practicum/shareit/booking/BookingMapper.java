@@ -2,14 +2,23 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +29,61 @@ public class BookingMapper {
     public BookingResponseDto toBookingResponseDto(Booking booking) {
         Item item = itemService.getById(booking.getItemId());
         User booker = userService.getById(booking.getBookerId());
+        return toBookingResponseDto(booking, item, booker);
+    }
+
+    /**
+     * Same as {@link #toBookingResponseDto(Booking)}, but returns null and leaves a 304 response when the
+     * client already has this version of the booking, its item and its booker.
+     */
+    public BookingResponseDto toBookingResponseDtoIfModified(Booking booking, WebRequest request) {
+        Item item = itemService.getById(booking.getItemId());
+        User booker = userService.getById(booking.getBookerId());
+        String eTag = ETags.of("booking", booking.getId(), booking.getVersion(), item.getVersion(), booker.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return toBookingResponseDto(booking, item, booker);
+    }
+
+    /**
+     * Maps a page of bookings with one lookup for all of its items and one for all of its bookers.
+     * An item or a booker the lookups did not find, e.g. on a lagging replica, is reported as not found,
+     * as it is for a single booking.
+     */
+    public List<BookingResponseDto> toBookingResponseDtos(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> itemIds = bookings.stream()
+                .map(Booking::getItemId)
+                .collect(Collectors.toSet());
+        Set<Long> bookerIds = bookings.stream()
+                .map(Booking::getBookerId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemService.getAllByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, User> bookers = userService.getAllByIds(bookerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return bookings.stream()
+                .map(booking -> toBookingResponseDto(
+                        booking,
+                        found(items, booking.getItemId(), "Предмет"),
+                        found(bookers, booking.getBookerId(), "Пользователь")))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> T found(Map<Long, T> byId, Long id, String name) {
+        T value = byId.get(id);
+        if (value == null) {
+            throw new NotFoundException(name + " с id=" + id + " несуществует");
+        }
+        return value;
+    }
+
+    private static BookingResponseDto toBookingResponseDto(Booking booking, Item item, User booker) {
         return new BookingResponseDto(
                 booking.getId(),
                 booking.getStart().toString(),
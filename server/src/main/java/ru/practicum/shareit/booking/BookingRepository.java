@@ -1,40 +1,111 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    Page<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    Slice<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(Long bookerId, Status status, Pageable pageable);
+    Slice<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(Long bookerId, Status status, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+    Slice<Booking> findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
             Long bookerId, LocalDateTime end, Status status, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(
+    Slice<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(
             Long bookerId, LocalDateTime start, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+    Slice<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
             Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
     List<Booking> findByItemIdAndStatusEquals(Long itemId, Status status);
 
-    Page<Booking> findByItemIdInOrderByStartDesc(List<Long> itemIds, Pageable pageable);
+    boolean existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+            Long bookerId, Long itemId, Status status, LocalDateTime end);
 
-    Page<Booking> findByItemIdInAndStatusEqualsOrderByStartDesc(List<Long> itemIds, Status status, Pageable pageable);
+    /**
+     * Moves a WAITING booking of one of the owner's items to the given status in a single statement.
+     * Returns 0 when the booking does not exist, belongs to another owner's item or is no longer WAITING,
+     * so concurrent approvals cannot both succeed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id " +
+            "and b.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "and b.itemId in (select i.id from Item i where i.ownerId = :ownerId)")
+    int updateStatusIfWaiting(@Param("id") Long id, @Param("ownerId") Long ownerId, @Param("status") Status status);
 
-    Page<Booking> findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime end, Status status, Pageable pageable);
+    boolean existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+            Long itemId, Collection<Status> statuses, LocalDateTime end, LocalDateTime start);
 
-    Page<Booking> findByItemIdInAndStartIsAfterOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime start, Pageable pageable);
+    Optional<Booking> findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+            Long itemId, Status status, LocalDateTime end);
 
-    Page<Booking> findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    Optional<Booking> findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+            Long itemId, Status status, LocalDateTime start);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status, b.version " +
+            "from (" +
+                "select bk.id, bk.start_date, bk.end_date, bk.item_id, bk.booker_id, bk.status, bk.version, " +
+                "row_number() over (partition by bk.item_id order by bk.end_date desc) as rn " +
+                "from bookings bk " +
+                "where bk.item_id in (:itemIds) and bk.status = :#{#status.name()} and bk.end_date < :now" +
+            ") b " +
+            "where b.rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastByItemIdIn(
+            @Param("itemIds") Collection<Long> itemIds, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status, b.version " +
+            "from (" +
+                "select bk.id, bk.start_date, bk.end_date, bk.item_id, bk.booker_id, bk.status, bk.version, " +
+                "row_number() over (partition by bk.item_id order by bk.start_date asc) as rn " +
+                "from bookings bk " +
+                "where bk.item_id in (:itemIds) and bk.status = :#{#status.name()} and bk.start_date > :now" +
+            ") b " +
+            "where b.rn = 1",
+            nativeQuery = true)
+    List<Booking> findNextByItemIdIn(
+            @Param("itemIds") Collection<Long> itemIds, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    @Query("select b from Booking b, Item i " +
+            "where b.itemId = i.id and i.ownerId = :ownerId " +
+            "order by b.start desc")
+    Slice<Booking> findByOwnerIdOrderByStartDesc(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("select b from Booking b, Item i " +
+            "where b.itemId = i.id and i.ownerId = :ownerId and b.status = :status " +
+            "order by b.start desc")
+    Slice<Booking> findByOwnerIdAndStatusEqualsOrderByStartDesc(
+            @Param("ownerId") Long ownerId, @Param("status") Status status, Pageable pageable);
+
+    @Query("select b from Booking b, Item i " +
+            "where b.itemId = i.id and i.ownerId = :ownerId and b.end < :end and b.status = :status " +
+            "order by b.start desc")
+    Slice<Booking> findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+            @Param("ownerId") Long ownerId, @Param("end") LocalDateTime end, @Param("status") Status status,
+            Pageable pageable);
+
+    @Query("select b from Booking b, Item i " +
+            "where b.itemId = i.id and i.ownerId = :ownerId and b.start > :start " +
+            "order by b.start desc")
+    Slice<Booking> findByOwnerIdAndStartIsAfterOrderByStartDesc(
+            @Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, Pageable pageable);
+
+    @Query("select b from Booking b, Item i " +
+            "where b.itemId = i.id and i.ownerId = :ownerId and b.start < :start and b.end > :end " +
+            "order by b.start desc")
+    Slice<Booking> findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+            @Param("ownerId") Long ownerId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+            Pageable pageable);
 
 }
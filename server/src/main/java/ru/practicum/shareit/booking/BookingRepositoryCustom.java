@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Bookings of the booker in the given state ordered by start desc, id desc, starting right after the cursor.
+     * Seeks by (start_date, id) instead of skipping rows with OFFSET and never runs a count query.
+     */
+    Slice<Booking> findByBookerIdAfterCursor(
+            Long bookerId, State state, LocalDateTime now, @Nullable BookingCursor cursor, int size);
+
+    /**
+     * Same as {@link #findByBookerIdAfterCursor} for bookings of all items of the owner.
+     */
+    Slice<Booking> findByOwnerIdAfterCursor(
+            Long ownerId, State state, LocalDateTime now, @Nullable BookingCursor cursor, int size);
+}
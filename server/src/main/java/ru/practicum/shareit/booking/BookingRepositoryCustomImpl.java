@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<Booking> findByBookerIdAfterCursor(
+            Long bookerId, State state, LocalDateTime now, BookingCursor cursor, int size) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(booking.get("bookerId"), bookerId));
+
+        return findAfterCursor(cb, query, booking, predicates, state, now, cursor, size);
+    }
+
+    @Override
+    public Slice<Booking> findByOwnerIdAfterCursor(
+            Long ownerId, State state, LocalDateTime now, BookingCursor cursor, int size) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Root<Item> item = query.from(Item.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(booking.get("itemId"), item.get("id")));
+        predicates.add(cb.equal(item.get("ownerId"), ownerId));
+
+        return findAfterCursor(cb, query, booking, predicates, state, now, cursor, size);
+    }
+
+    private Slice<Booking> findAfterCursor(CriteriaBuilder cb,
+                                           CriteriaQuery<Booking> query,
+                                           Root<Booking> booking,
+                                           List<Predicate> predicates,
+                                           State state,
+                                           LocalDateTime now,
+                                           BookingCursor cursor,
+                                           int size) {
+        predicates.addAll(statePredicates(cb, booking, state, now));
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(booking.get("start"), cursor.getStart()),
+                    cb.and(
+                            cb.equal(booking.get("start"), cursor.getStart()),
+                            cb.lessThan(booking.get("id"), cursor.getId()))));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        List<Booking> bookings = em.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = bookings.size() > size;
+        if (hasNext) {
+            bookings = bookings.subList(0, size);
+        }
+        return new SliceImpl<>(bookings, PageRequest.of(0, size), hasNext);
+    }
+
+    private static List<Predicate> statePredicates(CriteriaBuilder cb,
+                                                   Root<Booking> booking,
+                                                   State state,
+                                                   LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return List.of();
+            case CURRENT:
+                return List.of(
+                        cb.lessThan(booking.get("start"), now),
+                        cb.greaterThan(booking.get("end"), now));
+            case PAST:
+                return List.of(
+                        cb.lessThan(booking.get("end"), now),
+                        cb.equal(booking.get("status"), Status.APPROVED));
+            case FUTURE:
+                return List.of(cb.greaterThan(booking.get("start"), now));
+            case WAITING:
+                return List.of(cb.equal(booking.get("status"), Status.WAITING));
+            case REJECTED:
+                return List.of(cb.equal(booking.get("status"), Status.REJECTED));
+            default:
+                throw new NotFoundException("Недопустимый статус");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     List<Booking> getAll();
@@ -15,9 +17,17 @@ public interface BookingService {
 
     Booking getNextBookingByItemId(Long itemId, Status status);
 
-    Page<Booking> getAllByUserIdOrderByStartDesc(Long userId, State state, int from, int size);
+    Map<Long, Booking> getLastBookingsByItemIds(Collection<Long> itemIds, Status status);
 
-    Page<Booking> getAllByOwnerIdOrderByStartDesc(Long ownerId, State state, int from, int size);
+    Map<Long, Booking> getNextBookingsByItemIds(Collection<Long> itemIds, Status status);
+
+    Slice<Booking> getAllByUserIdOrderByStartDesc(Long userId, State state, int from, int size);
+
+    Slice<Booking> getAllByOwnerIdOrderByStartDesc(Long ownerId, State state, int from, int size);
+
+    Slice<Booking> getAllByUserIdAfterCursor(Long userId, State state, BookingCursor cursor, int size);
+
+    Slice<Booking> getAllByOwnerIdAfterCursor(Long ownerId, State state, BookingCursor cursor, int size);
 
     Booking add(Booking booking);
 
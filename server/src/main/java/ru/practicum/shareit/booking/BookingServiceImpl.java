@@ -2,19 +2,26 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,9 +29,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Set<Status> OCCUPYING_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
     private final BookingRepository repository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     public List<Booking> getAll() {
@@ -32,10 +41,10 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Page<Booking> getAllByUserIdOrderByStartDesc(Long userId, State state, int from, int size) {
-        Page<Booking> bookings;
+    public Slice<Booking> getAllByUserIdOrderByStartDesc(Long userId, State state, int from, int size) {
+        Slice<Booking> bookings;
         LocalDateTime dateTime = LocalDateTime.now();
-        checkUserExistence(userId);
+        userExistenceChecker.check(userId);
         Pageable pageable = PageRequest.of(from / size, size);
 
         switch (state) {
@@ -82,51 +91,46 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Page<Booking> getAllByOwnerIdOrderByStartDesc(Long ownerId, State state, int from, int size) {
-        checkUserExistence(ownerId);
-
-        List<Long> ownerItems = itemRepository.getAllByOwnerIdOrderByIdAsc(ownerId, PageRequest.of(0, Integer.MAX_VALUE))
-                .stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
+    public Slice<Booking> getAllByOwnerIdOrderByStartDesc(Long ownerId, State state, int from, int size) {
+        userExistenceChecker.check(ownerId);
 
         Pageable pageable = PageRequest.of(from / size, size);
         LocalDateTime dateTime = LocalDateTime.now();
-        Page<Booking> bookings;
+        Slice<Booking> bookings;
 
         switch (state) {
             case ALL:
-                bookings = repository.findByItemIdInOrderByStartDesc(ownerItems, pageable);
+                bookings = repository.findByOwnerIdOrderByStartDesc(ownerId, pageable);
                 break;
             case CURRENT:
-                bookings = repository.findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-                        ownerItems,
+                bookings = repository.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+                        ownerId,
                         dateTime,
                         dateTime,
                         pageable);
                 break;
             case PAST:
-                bookings = repository.findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-                        ownerItems,
+                bookings = repository.findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                        ownerId,
                         dateTime,
                         Status.APPROVED,
                         pageable);
                 break;
             case FUTURE:
-                bookings = repository.findByItemIdInAndStartIsAfterOrderByStartDesc(
-                        ownerItems,
+                bookings = repository.findByOwnerIdAndStartIsAfterOrderByStartDesc(
+                        ownerId,
                         dateTime,
                         pageable);
                 break;
             case WAITING:
-                bookings = repository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        ownerItems,
+                bookings = repository.findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                        ownerId,
                         Status.WAITING,
                         pageable);
                 break;
             case REJECTED:
-                bookings = repository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        ownerItems,
+                bookings = repository.findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                        ownerId,
                         Status.REJECTED,
                         pageable);
                 break;
@@ -137,6 +141,18 @@ public class BookingServiceImpl implements BookingService {
         return bookings;
     }
 
+    @Override
+    public Slice<Booking> getAllByUserIdAfterCursor(Long userId, State state, BookingCursor cursor, int size) {
+        userExistenceChecker.check(userId);
+        return repository.findByBookerIdAfterCursor(userId, state, LocalDateTime.now(), cursor, size);
+    }
+
+    @Override
+    public Slice<Booking> getAllByOwnerIdAfterCursor(Long ownerId, State state, BookingCursor cursor, int size) {
+        userExistenceChecker.check(ownerId);
+        return repository.findByOwnerIdAfterCursor(ownerId, state, LocalDateTime.now(), cursor, size);
+    }
+
     @Override
     public Booking getById(Long id, Long userId) {
         Booking booking = repository.findById(id).orElseThrow(() ->
@@ -158,45 +174,49 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Booking getLastBookingByItemId(Long itemId, Status status) {
-        List<Booking> bookings = getByItemId(itemId, status);
-        LocalDateTime now = LocalDateTime.now();
-        Booking lastBooking = null;
-        if (!bookings.isEmpty()) {
-            Booking last = bookings.get(0);
-            for (Booking b : bookings) {
-                if (b.getEnd().isBefore(now) && b.getEnd().isAfter(last.getEnd())) last = b;
-            }
-            lastBooking = last;
-        }
-        return lastBooking;
+        return repository.findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+                        itemId, status, LocalDateTime.now())
+                .orElse(null);
     }
 
     @Override
     public Booking getNextBookingByItemId(Long itemId, Status status) {
-        List<Booking> bookings = getByItemId(itemId, status);
-        LocalDateTime now = LocalDateTime.now();
-
-        Booking nextBooking = null;
-        if (!bookings.isEmpty()) {
-            Booking next = bookings.get(bookings.size() - 1);
-            for (Booking b : bookings) {
-                if (b.getStart().isAfter(now) && b.getStart().isBefore(next.getStart())) next = b;
-            }
-            nextBooking = next;
+        return repository.findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+                        itemId, status, LocalDateTime.now())
+                .orElse(null);
+    }
+
+    @Override
+    public Map<Long, Booking> getLastBookingsByItemIds(Collection<Long> itemIds, Status status) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return nextBooking;
+        return repository.findLastByItemIdIn(itemIds, status, LocalDateTime.now())
+                .stream()
+                .collect(Collectors.toMap(Booking::getItemId, Function.identity()));
+    }
+
+    @Override
+    public Map<Long, Booking> getNextBookingsByItemIds(Collection<Long> itemIds, Status status) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return repository.findNextByItemIdIn(itemIds, status, LocalDateTime.now())
+                .stream()
+                .collect(Collectors.toMap(Booking::getItemId, Function.identity()));
     }
 
     @Override
     @Transactional
     public Booking add(Booking booking) {
-        Item item = getItem(booking.getItemId());
+        Item item = itemRepository.findByIdForUpdate(booking.getItemId()).orElseThrow(() ->
+                new NotFoundException("Предмет с id=" + booking.getItemId() + " несуществует"));
         LocalDateTime currDatetime = LocalDateTime.now();
         if (!item.getAvailable()) {
             throw new ValidationException("Предмет с id=" + booking.getItemId() + " недоступен для бронирования");
         }
 
-        checkUserExistence(booking.getBookerId());
+        userExistenceChecker.check(booking.getBookerId());
         if (booking.getBookerId().equals(item.getOwnerId())) {
             throw new NotFoundException("Владелец не может бронировать собственный предмет");
         }
@@ -207,6 +227,11 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Недопустимое время брони");
         }
 
+        if (repository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                booking.getItemId(), OCCUPYING_STATUSES, booking.getEnd(), booking.getStart())) {
+            throw new ConflictException("Предмет с id=" + booking.getItemId() + " уже забронирован на это время");
+        }
+
         booking.setStatus(Status.WAITING);
         Booking savedBooking = repository.save(booking);
         log.info("Бронирование с id={} создано", savedBooking.getId());
@@ -217,28 +242,26 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Booking updateStatus(Long id, Long userId, boolean approved) {
-        Booking prevBooking = getById(id, userId);
-        Item item = getItem(prevBooking.getItemId());
-
-        if (!userId.equals(item.getOwnerId())) {
-            throw new NotFoundException("Изменение статуса бронирования доступно только владельцу");
-        }
-
-        if (!prevBooking.getStatus().equals(Status.WAITING)) {
-            throw new ValidationException("Статус бронирования с id=" + id
-                    + " уже проставлен: " + prevBooking.getStatus());
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (repository.updateStatusIfWaiting(id, userId, status) == 0) {
+            throw statusNotUpdated(id, userId);
         }
+        log.info("Статус бронирования с id={} обновлен на {}", id, status);
 
-        prevBooking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-
-        Booking booking = repository.save(prevBooking);
-        log.info("Статус бронирования с id={} обновлен на {}", prevBooking.getId(), prevBooking.getStatus());
-        return booking;
+        return repository.findById(id).orElseThrow(() ->
+                new NotFoundException("Бронирование с id=" + id + " несуществует"));
     }
 
-    private void checkUserExistence(Long userId) {
-        userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException("Пользователь с id=" + userId + " несуществует"));
+    private RuntimeException statusNotUpdated(Long id, Long userId) {
+        Booking booking = repository.findById(id).orElseThrow(() ->
+                new NotFoundException("Бронирование с id=" + id + " несуществует"));
+        Item item = getItem(booking.getItemId());
+
+        if (!userId.equals(item.getOwnerId())) {
+            return new NotFoundException("Изменение статуса бронирования доступно только владельцу");
+        }
+        return new ValidationException("Статус бронирования с id=" + id
+                + " уже проставлен: " + booking.getStatus());
     }
 
     private Item getItem(Long itemId) {
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache advice wraps the transactional one, so evictions on update/delete run after commit
+ * and a cache hit does not open a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+}
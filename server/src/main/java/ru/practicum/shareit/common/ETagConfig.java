@@ -0,0 +1,32 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Configuration
+public class ETagConfig {
+
+    /**
+     * ETags for the GET responses that do not set one from entity versions: the body is still
+     * serialized, but an unchanged one is answered with 304 and not transferred.
+     * The filter buffers and hashes the whole body, so it is mapped only to those routes and skips
+     * other methods; GET /users/{id} and GET /bookings/{id} answer 304 from versions before serializing.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter() {
+                    @Override
+                    protected boolean shouldNotFilter(HttpServletRequest request) {
+                        return !HttpMethod.GET.matches(request.getMethod());
+                    }
+                });
+        registration.addUrlPatterns("/users", "/items/*", "/requests/*", "/bookings", "/bookings/owner");
+        return registration;
+    }
+}
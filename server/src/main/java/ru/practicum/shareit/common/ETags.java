@@ -0,0 +1,17 @@
+package ru.practicum.shareit.common;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class ETags {
+
+    /**
+     * Strong ETag built from the ids and versions of the entities a response is made of,
+     * so it is known before the response body is mapped and serialized.
+     */
+    public static String of(String kind, Object... idsAndVersions) {
+        return Arrays.stream(idsAndVersions)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"" + kind + "-", "\""));
+    }
+}
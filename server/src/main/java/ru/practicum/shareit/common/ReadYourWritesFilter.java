@@ -0,0 +1,58 @@
+package ru.practicum.shareit.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+/**
+ * Keeps the reads of a user on the primary for a while after the user's request wrote something,
+ * so the user does not miss the own changes while the replicas catch up.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = userId(request);
+        boolean wrote;
+        ReplicaRoutingDataSource.start(userId != null && recentWriters.getIfPresent(userId) != null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            wrote = ReplicaRoutingDataSource.stop();
+        }
+
+        if (wrote && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the statements of read-only transactions to the replicas, round robin, and everything else
+ * to the primary. The transaction is known only once it has started, so the connection must be taken
+ * lazily: the data source is meant to be wrapped in a {@code LazyConnectionDataSourceProxy}.
+ * <p>
+ * Between {@link #start(boolean)} and {@link #stop()} the current thread can be pinned to the primary,
+ * and whether it opened a read-write transaction is remembered.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<boolean[]> PINNED_AND_WROTE = new ThreadLocal<>();
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        dataSources.add(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+            dataSources.add(replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static void start(boolean pinnedToPrimary) {
+        PINNED_AND_WROTE.set(new boolean[]{pinnedToPrimary, false});
+    }
+
+    /**
+     * @return whether a read-write transaction took a connection since {@link #start(boolean)}
+     */
+    public static boolean stop() {
+        boolean[] pinnedAndWrote = PINNED_AND_WROTE.get();
+        PINNED_AND_WROTE.remove();
+        return pinnedAndWrote != null && pinnedAndWrote[1];
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean[] pinnedAndWrote = PINNED_AND_WROTE.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (pinnedAndWrote != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinnedAndWrote[1] = true;
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || pinnedAndWrote != null && pinnedAndWrote[0]) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
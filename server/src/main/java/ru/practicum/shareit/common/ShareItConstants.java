@@ -2,7 +2,14 @@ package ru.practicum.shareit.common;
 
 public class ShareItConstants {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     public static final String PAGE_START_FROM_DEFAULT_TEXT = "0";
     public static final String PAGE_SIZE_DEFAULT_TEXT = "10";
+
+    public static final String USERS_CACHE = "users";
+    public static final String ITEMS_CACHE = "items";
+
+    // must match INCREMENT BY of the id sequences in schema.sql
+    public static final int ID_ALLOCATION_SIZE = 50;
 }
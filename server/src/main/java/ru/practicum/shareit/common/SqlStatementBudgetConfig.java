@@ -0,0 +1,32 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlStatementBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Wraps the whole request, so lazy loading during serialization is counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.sql.statement-budget.max}") int budget,
+            @Value("${shareit.sql.statement-budget.fail-on-exceed}") boolean failOnExceed) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(meterRegistry, budget, failOnExceed));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each HTTP request ran in the {@value #METRIC} histogram, tagged with
+ * the method and the endpoint pattern, and reports requests that run more than the budget.
+ */
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    public static final String METRIC = "shareit.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final boolean failOnExceed;
+
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry, int budget, boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int count;
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = SqlStatementCounter.stop();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) budget * 10)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > budget) {
+            String message = "Запрос " + request.getMethod() + " " + uri + " выполнил SQL-запросов: " + count +
+                    ", бюджет: " + budget;
+            if (failOnExceed) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
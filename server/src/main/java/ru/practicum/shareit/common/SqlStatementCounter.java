@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()};
+ * statements outside of such a window are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
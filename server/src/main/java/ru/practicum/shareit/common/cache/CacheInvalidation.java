@@ -0,0 +1,51 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Eviction of one id, or of all entries when the key is null, from a cache on every server node.
+ * Travels between nodes as {@code cache:id} or {@code cache:*}.
+ */
+@Value
+public class CacheInvalidation {
+    private static final String ALL_ENTRIES = "*";
+
+    String cacheName;
+    Long key;
+
+    public static CacheInvalidation of(String cacheName, Long key) {
+        return new CacheInvalidation(cacheName, key);
+    }
+
+    public static CacheInvalidation allEntries(String cacheName) {
+        return new CacheInvalidation(cacheName, null);
+    }
+
+    public static CacheInvalidation parse(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Некорректное сообщение об инвалидации кэша: " + payload);
+        }
+        String key = payload.substring(separator + 1);
+        return new CacheInvalidation(payload.substring(0, separator),
+                ALL_ENTRIES.equals(key) ? null : Long.valueOf(key));
+    }
+
+    public String encode() {
+        return cacheName + ":" + (key == null ? ALL_ENTRIES : key);
+    }
+
+    public void evictFrom(CacheManager cacheManager) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
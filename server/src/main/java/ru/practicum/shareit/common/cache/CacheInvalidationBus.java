@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.cache;
+
+/**
+ * Carries cache invalidations from the node that changed the data to every node, including itself.
+ * Invalidations published inside a transaction are delivered only if it commits.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+}
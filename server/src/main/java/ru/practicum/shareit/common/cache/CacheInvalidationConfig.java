@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            @Value("${shareit.cache.invalidation.transport:POSTGRES}") CacheInvalidationTransport transport,
+            CacheManager cacheManager,
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties) {
+        if (transport == CacheInvalidationTransport.IN_PROCESS) {
+            log.info("Инвалидация кэшей: в пределах процесса");
+            return new InProcessCacheInvalidationBus(cacheManager);
+        }
+        log.info("Инвалидация кэшей: PostgreSQL LISTEN/NOTIFY");
+        return new PostgresCacheInvalidationBus(jdbcTemplate, cacheManager,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.common.cache;
+
+public enum CacheInvalidationTransport {
+    POSTGRES, IN_PROCESS
+}
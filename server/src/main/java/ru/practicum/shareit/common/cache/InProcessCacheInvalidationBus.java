@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for a real transport when all nodes live in one JVM, as application contexts of tests do:
+ * every bus created in the JVM is a node, and an invalidation reaches the caches of all of them after commit.
+ */
+public class InProcessCacheInvalidationBus implements CacheInvalidationBus, DisposableBean {
+    private static final Set<CacheManager> NODES = ConcurrentHashMap.newKeySet();
+
+    private final CacheManager cacheManager;
+
+    public InProcessCacheInvalidationBus(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        NODES.add(cacheManager);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(invalidation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(invalidation);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        NODES.remove(cacheManager);
+    }
+
+    private static void deliver(CacheInvalidation invalidation) {
+        NODES.forEach(invalidation::evictFrom);
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Publishes invalidations with NOTIFY on the connection of the current transaction, so PostgreSQL delivers them
+ * only on commit, and listens on a connection of its own, kept alive with TCP keep-alive and a validation
+ * round trip when idle. Notifications sent while that connection was down are lost and cannot be told apart,
+ * so after every (re)connect all entries of all caches are cleared: a reconnect costs a cold cache on this node.
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+    private static final String CHANNEL = "shareit_cache_invalidation";
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final int IDLE_POLLS_BEFORE_VALIDATION = 30;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final String url;
+    private final String username;
+    private final String password;
+    private volatile Thread listener;
+    private volatile Connection connection;
+    private volatile boolean running;
+
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                                        String url, String username, String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        jdbcTemplate.execute("select pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, invalidation.encode());
+            return statement.execute();
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Closes the listening connection, which also unblocks a pending poll, and waits for the listener to finish.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread stopping = listener;
+        if (stopping == null) {
+            return;
+        }
+        close(connection);
+        stopping.interrupt();
+        try {
+            stopping.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        listener = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Evicts the entries named by the notifications; a malformed payload is logged and skipped.
+     */
+    void handle(PGNotification[] notifications) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            try {
+                CacheInvalidation.parse(notification.getParameter()).evictFrom(cacheManager);
+            } catch (IllegalArgumentException e) {
+                log.warn(e.getMessage());
+            }
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // invalidations missed while disconnected are unknown, so nothing cached before now can be trusted
+                clearCaches();
+                log.info("Подписка на инвалидацию кэшей открыта");
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                int idlePolls = 0;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    handle(notifications);
+                    idlePolls = notifications == null ? idlePolls + 1 : 0;
+                    if (idlePolls == IDLE_POLLS_BEFORE_VALIDATION) {
+                        idlePolls = 0;
+                        if (!listening.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                            throw new SQLException("соединение не отвечает");
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Подписка на инвалидацию кэшей прервана: {}", e.getMessage());
+                    pause();
+                }
+            } finally {
+                connection = null;
+            }
+        }
+        log.info("Подписка на инвалидацию кэшей закрыта");
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> CacheInvalidation.allEntries(name).evictFrom(cacheManager));
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Соединение подписки на инвалидацию кэшей закрыто с ошибкой: {}", e.getMessage());
+        }
+    }
+}
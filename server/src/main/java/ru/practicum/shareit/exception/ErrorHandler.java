@@ -40,6 +40,13 @@ public class ErrorHandler {
         return exception.getMessage();
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleConflictException(ConflictException exception) {
+        log.error(exception.getMessage());
+        return exception.getMessage();
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public String handleException(Throwable exception) {
@@ -3,9 +3,12 @@ package ru.practicum.shareit.item;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> getAllByItemIdOrderByIdAsc(Long itemId);
 
+    List<Comment> getAllByItemIdInOrderByIdAsc(Collection<Long> itemIds);
+
 }
@@ -5,7 +5,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingService;
-import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -16,8 +15,10 @@ import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_SIZE_DEFAULT_TEXT;
@@ -40,26 +41,21 @@ public class ItemController {
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
 
-        List<ItemExtendedDto> ownersItemsWithBookingsDto = new ArrayList<>();
-
-        for (Item item : itemService.getAllByOwnerIdOrderByIdAsc(userId, from, size)) {
-            ItemExtendedDto itemDto = ItemMapper.toItemExtendedDto(item);
-
-            Booking next = bookingService.getNextBookingByItemId(itemDto.getId(), Status.APPROVED);
-            Booking last = bookingService.getLastBookingByItemId(itemDto.getId(), Status.APPROVED);
+        List<Item> items = itemService.getAllByOwnerIdOrderByIdAsc(userId, from, size).getContent();
+        Set<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
 
-            itemDto.setLastBooking(last);
-            itemDto.setNextBooking(next);
-
-            List<Comment> comments = itemService.getAllCommentsByItemIdOrderByIdAsc(itemDto.getId());
-
-            List<ItemExtendedDto.CommentDto> commentsDtos = comments
-                    .stream()
-                    .map(c -> ItemMapper.toCommentDto(c, userService.getById(c.getId())))
-                    .collect(Collectors.toList());
-
-            itemDto.setComments(commentsDtos);
+        Map<Long, Booking> nextBookings = bookingService.getNextBookingsByItemIds(itemIds, Status.APPROVED);
+        Map<Long, Booking> lastBookings = bookingService.getLastBookingsByItemIds(itemIds, Status.APPROVED);
+        Map<Long, List<ItemExtendedDto.CommentDto>> comments = getCommentDtosByItemIds(itemIds);
 
+        List<ItemExtendedDto> ownersItemsWithBookingsDto = new ArrayList<>();
+        for (Item item : items) {
+            ItemExtendedDto itemDto = ItemMapper.toItemExtendedDto(item);
+            itemDto.setLastBooking(lastBookings.get(item.getId()));
+            itemDto.setNextBooking(nextBookings.get(item.getId()));
+            itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
             ownersItemsWithBookingsDto.add(itemDto);
         }
 
@@ -80,15 +76,8 @@ public class ItemController {
             itemDto.setNextBooking(next);
         }
 
-        List<Comment> comments = itemService.getAllCommentsByItemIdOrderByIdAsc(itemDto.getId());
-
-        List<ItemExtendedDto.CommentDto> commentsDtos = comments
-                .stream()
-                .map(c -> ItemMapper.toCommentDto(c, userService.getById(c.getId())))
-                .collect(Collectors.toList());
-
-
-        itemDto.setComments(commentsDtos);
+        itemDto.setComments(getCommentDtosByItemIds(Set.of(item.getId()))
+                .getOrDefault(item.getId(), Collections.emptyList()));
 
         return itemDto;
     }
@@ -100,6 +89,18 @@ public class ItemController {
         return ItemMapper.toItemDto(itemService.add(item));
     }
 
+    @PostMapping("batch")
+    @Validated(Create.class)
+    public List<ItemDto> createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                   @RequestBody List<@Valid ItemDto> itemDtos) {
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> ItemMapper.toItem(itemDto, userId))
+                .collect(Collectors.toList());
+        return itemService.addAll(items).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
     @PatchMapping("{id}")
     public ItemDto update(@RequestHeader(USER_ID_HEADER) long userId,
                           @PathVariable long id,
@@ -131,9 +132,27 @@ public class ItemController {
             @Validated(Create.class) @RequestBody CommentRequestDto commentDto) {
         Comment comment = ItemMapper.toComment(itemId, userId, commentDto);
         User author = userService.getById(userId);
-        List<Booking> authorBookings = bookingService.getAllByUserIdOrderByStartDesc(
-                userId, State.PAST, 0, Integer.MAX_VALUE).toList();
 
-        return ItemMapper.toCommentDto(itemService.addComment(comment, authorBookings), author);
+        return ItemMapper.toCommentDto(itemService.addComment(comment), author);
+    }
+
+    private Map<Long, List<ItemExtendedDto.CommentDto>> getCommentDtosByItemIds(Set<Long> itemIds) {
+        List<Comment> comments = itemService.getAllCommentsByItemIdInOrderByIdAsc(itemIds);
+        if (comments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> authorIds = comments.stream()
+                .map(Comment::getAuthorId)
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = userService.getAllByIds(authorIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return comments.stream()
+                .collect(Collectors.groupingBy(
+                        Comment::getItemId,
+                        Collectors.mapping(c -> ItemMapper.toCommentDto(c, authors.get(c.getAuthorId())),
+                                Collectors.toList())));
     }
 }
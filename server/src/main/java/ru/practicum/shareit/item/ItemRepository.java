@@ -1,15 +1,29 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
+    /**
+     * Loads the item with a row lock held until the end of the transaction,
+     * so bookings of the same item are checked for overlaps one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    Slice<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
     @Query("select i from Item i " +
             "where (" +
@@ -17,7 +31,21 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                 "or upper(i.description) like upper(concat('%', ?1, '%'))" +
             ") " +
             "and i.available = true ")
-    Page<Item> search(String text, Pageable pageable);
+    Slice<Item> search(String text, Pageable pageable);
+
+    @Query(value = "select i.id, i.name, i.description, i.available, i.owner_id, i.request_id, i.version " +
+            "from items i " +
+            "where i.available = true and i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    Slice<Item> fullTextSearch(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Next batch of items after the given id: a seek on the primary key without OFFSET or a count query.
+     */
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
     List<Item> getAllByRequestIdOrderByIdAsc(Long requestId);
+
+    List<Item> findAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds);
 }
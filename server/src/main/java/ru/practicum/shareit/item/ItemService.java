@@ -1,10 +1,10 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -12,20 +12,28 @@ public interface ItemService {
 
     Item getById(Long id);
 
-    Page<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, int from, int size);
+    List<Item> getAllByIds(Collection<Long> ids);
+
+    Slice<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, int from, int size);
 
     Item add(Item item);
 
+    List<Item> addAll(List<Item> items);
+
     Item update(Item item);
 
     void delete(Long id);
 
-    Page<Item> search(String text, int from, int size);
+    Slice<Item> search(String text, int from, int size);
 
-    Comment addComment(Comment comment, List<Booking> authorBookings);
+    Comment addComment(Comment comment);
 
     List<Comment> getAllCommentsByItemIdOrderByIdAsc(Long itemId);
 
+    List<Comment> getAllCommentsByItemIdInOrderByIdAsc(Collection<Long> itemIds);
+
     List<Item> getAllByRequestIdOrderByIdAsc(Long requestId);
 
+    List<Item> getAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds);
+
 }
@@ -2,45 +2,62 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.common.ShareItConstants;
+import ru.practicum.shareit.common.cache.CacheInvalidation;
+import ru.practicum.shareit.common.cache.CacheInvalidationBus;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserExistenceChecker userExistenceChecker;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
+    @Cacheable(cacheNames = ShareItConstants.ITEMS_CACHE, key = "#id")
     public Item getById(Long id) {
         return itemRepository.findById(id).orElseThrow(() ->
                 new NotFoundException("Предмет с id=" + id + " несуществует"));
     }
 
+    @Override
+    public List<Item> getAllByIds(Collection<Long> ids) {
+        return itemRepository.findAllById(ids);
+    }
+
     @Override
     public List<Item> getAll() {
         return itemRepository.findAll();
     }
 
     @Override
-    public Page<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, int from, int size) {
-        checkUserExistence(ownerId);
+    public Slice<Item> getAllByOwnerIdOrderByIdAsc(Long ownerId, int from, int size) {
+        userExistenceChecker.check(ownerId);
         Pageable pageable = PageRequest.of(from / size, size);
         return itemRepository.getAllByOwnerIdOrderByIdAsc(ownerId, pageable);
     }
@@ -50,22 +67,53 @@ public class ItemServiceImpl implements ItemService {
         return commentRepository.getAllByItemIdOrderByIdAsc(itemId);
     }
 
+    @Override
+    public List<Comment> getAllCommentsByItemIdInOrderByIdAsc(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return commentRepository.getAllByItemIdInOrderByIdAsc(itemIds);
+    }
+
     @Override
     public List<Item> getAllByRequestIdOrderByIdAsc(Long requestId) {
         return itemRepository.getAllByRequestIdOrderByIdAsc(requestId);
     }
 
+    @Override
+    public List<Item> getAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds);
+    }
+
     @Override
     @Transactional
     public Item add(Item item) {
-        checkUserExistence(item.getOwnerId());
+        userExistenceChecker.check(item.getOwnerId());
         Item savedItem = itemRepository.save(item);
+        itemSearchEngine.onSaved(savedItem);
         log.info("Предмет с id={} создан", savedItem.getId());
         return savedItem;
     }
 
     @Override
     @Transactional
+    public List<Item> addAll(List<Item> items) {
+        items.stream()
+                .map(Item::getOwnerId)
+                .distinct()
+                .forEach(userExistenceChecker::check);
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchEngine::onSaved);
+        log.info("Создано предметов: {}", savedItems.size());
+        return savedItems;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = ShareItConstants.ITEMS_CACHE, key = "#item.id")
     public Item update(Item item) {
         Item prevItem = getById(item.getId());
 
@@ -82,46 +130,44 @@ public class ItemServiceImpl implements ItemService {
             prevItem.setAvailable(item.getAvailable());
         }
         itemRepository.save(prevItem);
+        itemSearchEngine.onSaved(prevItem);
+        cacheInvalidationBus.publish(CacheInvalidation.of(ShareItConstants.ITEMS_CACHE, prevItem.getId()));
         log.info("Предмет с id={} обновлен", prevItem.getId());
         return prevItem;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ShareItConstants.ITEMS_CACHE, key = "#id")
     public void delete(Long id) {
         Item item = getById(id);
         itemRepository.delete(item);
+        itemSearchEngine.onDeleted(id);
+        cacheInvalidationBus.publish(CacheInvalidation.of(ShareItConstants.ITEMS_CACHE, id));
         log.info("Предмет с id={} удален", id);
     }
 
     @Override
-    public Page<Item> search(String text, int from, int size) {
+    public Slice<Item> search(String text, int from, int size) {
         if (text.isBlank() || text.isEmpty()) {
-            return Page.empty();
+            return new SliceImpl<>(Collections.emptyList());
         }
 
         text = text.toLowerCase();
 
         Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.search(text, pageable);
+        return itemSearchEngine.search(text, pageable);
     }
 
     @Override
     @Transactional
-    public Comment addComment(Comment comment, List<Booking> authorBookings) {
-        Set<Long> itemsIds = authorBookings.stream()
-                .map(Booking::getItemId)
-                .collect(Collectors.toSet());
-        if (!itemsIds.contains(comment.getItemId())) {
+    public Comment addComment(Comment comment) {
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                comment.getAuthorId(), comment.getItemId(), Status.APPROVED, LocalDateTime.now())) {
             throw new ValidationException("Вы не бронировали данный предмет");
         }
 
         return commentRepository.save(comment);
     }
 
-    private void checkUserExistence(Long userId) {
-        userRepository.findById(userId).orElseThrow(() ->
-                new NotFoundException("Пользователь с id=" + userId + " несуществует"));
-    }
-
 }
@@ -9,6 +9,8 @@ import lombok.ToString;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.common.ShareItConstants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Table(name = "comments", schema = "public")
 @Getter
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "text", nullable = false)
@@ -4,6 +4,8 @@ import lombok.*;
 
 import javax.persistence.*;
 
+import static ru.practicum.shareit.common.ShareItConstants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Builder(toBuilder = true)
 @Table(name = "items", schema = "public")
@@ -14,7 +16,8 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +33,13 @@ public class Item {
     @Column(name = "request_id")
     private Long requestId;
 
+    @Version
+    private Long version;
+
+    public Item(Long id, String name, String description, Boolean available, Long ownerId, Long requestId) {
+        this(id, name, description, available, ownerId, requestId, null);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
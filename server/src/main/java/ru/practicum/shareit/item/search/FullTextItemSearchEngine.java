@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres full-text search over the GIN-indexed items.search_vector column, ordered by relevance.
+ * Every word of the text is matched as a prefix, so "дрел" still finds "Дрель".
+ */
+@RequiredArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList(), pageable, false);
+        }
+        return itemRepository.fullTextSearch(query, pageable);
+    }
+
+    static String toTsQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
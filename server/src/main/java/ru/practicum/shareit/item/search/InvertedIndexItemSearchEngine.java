@@ -0,0 +1,199 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over name and description of available items, so search never touches the database.
+ * Every word of the text is matched as a prefix of an indexed word, results are ordered by item id.
+ * The index is loaded from the items table on startup and kept up to date by the item service
+ * after each committed change.
+ * <p>
+ * Every server node keeps its own index and only sees the changes made through it, so with several nodes
+ * the search misses items saved on the others until restart; the mode is meant for a single node.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine, InitializingBean {
+    private final ItemRepository itemRepository;
+    private final int batchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, LongPostings> postings = new TreeMap<>();
+    private Map<Long, Item> items = new HashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        NavigableMap<String, LongPostings> newPostings = new TreeMap<>();
+        Map<Long, Item> newItems = new HashMap<>();
+
+        Pageable batch = PageRequest.of(0, batchSize);
+        long lastId = 0;
+        List<Item> loaded;
+        do {
+            loaded = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, batch);
+            for (Item item : loaded) {
+                put(newPostings, newItems, snapshot(item));
+                lastId = item.getId();
+            }
+        } while (loaded.size() == batchSize);
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            items = newItems;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс поиска предметов построен: {} предметов, {} слов", newItems.size(), newPostings.size());
+    }
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        Set<String> words = tokenize(text);
+        if (words.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] ids = null;
+            for (String word : words) {
+                long[] matches = LongPostings.union(postings.subMap(word, true, word + Character.MAX_VALUE, false)
+                        .values());
+                ids = ids == null ? matches : LongPostings.intersect(ids, matches);
+                if (ids.length == 0) {
+                    return new SliceImpl<>(List.of(), pageable, false);
+                }
+            }
+
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            List<Item> content = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                content.add(snapshot(items.get(ids[i])));
+            }
+            return new SliceImpl<>(content, pageable, to < ids.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        Item snapshot = snapshot(item);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(snapshot.getId());
+                put(postings, items, snapshot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void onOwnerDeleted(Long ownerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> ownerItemIds = items.values().stream()
+                        .filter(item -> Objects.equals(item.getOwnerId(), ownerId))
+                        .map(Item::getId)
+                        .collect(Collectors.toList());
+                ownerItemIds.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null) {
+            return new LinkedHashSet<>();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static void put(Map<String, LongPostings> postings, Map<Long, Item> items, Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        items.put(item.getId(), item);
+        for (String word : words(item)) {
+            postings.computeIfAbsent(word, w -> new LongPostings()).add(item.getId());
+        }
+    }
+
+    private void remove(Long itemId) {
+        Item item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (String word : words(item)) {
+            LongPostings list = postings.get(word);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    private static Set<String> words(Item item) {
+        Set<String> words = tokenize(item.getName());
+        words.addAll(tokenize(item.getDescription()));
+        return words;
+    }
+
+    private static Item snapshot(Item item) {
+        return item.toBuilder().build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
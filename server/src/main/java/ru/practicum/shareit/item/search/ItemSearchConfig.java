@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Slf4j
+@Configuration
+public class ItemSearchConfig {
+
+    @Bean
+    public ItemSearchEngine itemSearchEngine(
+            @Value("${shareit.item.search.mode:LIKE}") ItemSearchMode mode,
+            @Value("${shareit.item.search.index.batch-size:1000}") int indexBatchSize,
+            ItemRepository itemRepository,
+            DataSource dataSource) {
+        if (mode == ItemSearchMode.INDEX) {
+            log.info("Поиск предметов: индекс в памяти, только для одного узла");
+            return new InvertedIndexItemSearchEngine(itemRepository, indexBatchSize);
+        }
+        if (mode == ItemSearchMode.FULL_TEXT) {
+            if (isPostgres(dataSource)) {
+                log.info("Поиск предметов: полнотекстовый");
+                return new FullTextItemSearchEngine(itemRepository);
+            }
+            log.warn("Полнотекстовый поиск поддерживается только в PostgreSQL, используется поиск по подстроке");
+        }
+        return new LikeItemSearchEngine(itemRepository);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(
+                    dataSource, DatabaseMetaData::getDatabaseProductName);
+            return DatabaseDriver.POSTGRESQL.getId().equalsIgnoreCase(JdbcUtils.commonDatabaseName(productName));
+        } catch (MetaDataAccessException e) {
+            log.warn("Не удалось определить тип базы данных: {}", e.getMessage());
+            return false;
+        }
+    }
+}
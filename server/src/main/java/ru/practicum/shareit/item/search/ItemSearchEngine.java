@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchEngine {
+    Slice<Item> search(String text, Pageable pageable);
+
+    default void onSaved(Item item) {
+    }
+
+    default void onDeleted(Long itemId) {
+    }
+
+    default void onOwnerDeleted(Long ownerId) {
+    }
+}
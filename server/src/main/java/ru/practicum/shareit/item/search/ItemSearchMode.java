@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.search;
+
+public enum ItemSearchMode {
+    LIKE, FULL_TEXT, INDEX
+}
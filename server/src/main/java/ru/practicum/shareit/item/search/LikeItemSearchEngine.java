@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Substring search over name and description. Works on any database, but always scans the whole items table.
+ */
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        return itemRepository.search(text, pageable);
+    }
+}
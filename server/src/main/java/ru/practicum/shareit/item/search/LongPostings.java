@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: item ids kept sorted in a primitive long[] (8 bytes per id, no boxing).
+ */
+class LongPostings {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids = EMPTY;
+    private int size;
+
+    void add(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        if (size < ids.length >> 2) {
+            ids = Arrays.copyOf(ids, Math.max(size, size << 1));
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Sorted ids present in any of the lists.
+     */
+    static long[] union(Iterable<LongPostings> postings) {
+        int total = 0;
+        LongPostings single = null;
+        int lists = 0;
+        for (LongPostings list : postings) {
+            total += list.size;
+            single = list;
+            lists++;
+        }
+        if (lists == 0) {
+            return EMPTY;
+        }
+        if (lists == 1) {
+            return single.toArray();
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (LongPostings list : postings) {
+            System.arraycopy(list.ids, 0, all, pos, list.size);
+            pos += list.size;
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    /**
+     * Sorted ids present in both arrays.
+     */
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
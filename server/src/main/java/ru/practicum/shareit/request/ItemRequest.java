@@ -5,6 +5,8 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.common.ShareItConstants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Table(name = "requests", schema = "public")
 @Getter
@@ -15,7 +17,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "description", nullable = false)
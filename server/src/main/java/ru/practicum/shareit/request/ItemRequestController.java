@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.ItemService;
@@ -13,7 +13,11 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.constraints.Min;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_SIZE_DEFAULT_TEXT;
 import static ru.practicum.shareit.common.ShareItConstants.PAGE_START_FROM_DEFAULT_TEXT;
@@ -49,13 +53,7 @@ public class ItemRequestController {
     public List<ItemRequestExtendedDto> getAllByRequester(
             @RequestHeader(USER_ID_HEADER) long userId) {
         List<ItemRequest> requests = itemRequestService.getAllByRequesterId(userId);
-        List<ItemRequestExtendedDto> requestsDto = new ArrayList<>();
-        for (ItemRequest request : requests) {
-            List<Item> items = itemService.getAllByRequestIdOrderByIdAsc(request.getId());
-            ItemRequestExtendedDto requestDto = ItemRequestMapper.toItemRequestExtendedDto(request, items);
-            requestsDto.add(requestDto);
-        }
-        return requestsDto;
+        return toItemRequestExtendedDtos(requests);
     }
 
     @GetMapping("all")
@@ -64,11 +62,21 @@ public class ItemRequestController {
             @RequestParam(defaultValue = PAGE_START_FROM_DEFAULT_TEXT, required = false) @Min(0) int from,
             @RequestParam(defaultValue = PAGE_SIZE_DEFAULT_TEXT, required = false) @Min(1) int size) {
 
-        Page<ItemRequest> requests = itemRequestService.getExistedForUserId(userId, from, size);
+        Slice<ItemRequest> requests = itemRequestService.getExistedForUserId(userId, from, size);
+        return toItemRequestExtendedDtos(requests.getContent());
+    }
+
+    private List<ItemRequestExtendedDto> toItemRequestExtendedDtos(List<ItemRequest> requests) {
+        Set<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Item>> itemsByRequestId = itemService.getAllByRequestIdInOrderByIdAsc(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
 
         List<ItemRequestExtendedDto> requestsDto = new ArrayList<>();
         for (ItemRequest request : requests) {
-            List<Item> items = itemService.getAllByRequestIdOrderByIdAsc(request.getId());
+            List<Item> items = itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList());
             ItemRequestExtendedDto requestDto = ItemRequestMapper.toItemRequestExtendedDto(request, items);
             requestsDto.add(requestDto);
         }
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -9,5 +9,5 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> getAllByRequesterIdOrderByCreatedAsc(Long requesterId);
 
-    Page<ItemRequest> getAllByRequesterIdNotOrderByCreatedAsc(Long userId, Pageable pageable);
+    Slice<ItemRequest> getAllByRequesterIdNotOrderByCreatedAsc(Long userId, Pageable pageable);
 }
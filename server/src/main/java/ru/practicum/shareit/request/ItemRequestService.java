@@ -1,6 +1,6 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,6 +12,6 @@ public interface ItemRequestService {
 
     List<ItemRequest> getAllByRequesterId(Long requesterId);
 
-    Page<ItemRequest> getExistedForUserId(Long userId, int from, int size);
+    Slice<ItemRequest> getExistedForUserId(Long userId, int from, int size);
 
 }
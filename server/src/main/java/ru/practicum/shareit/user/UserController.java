@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.ETags;
 import ru.practicum.shareit.markers.Create;
 import ru.practicum.shareit.markers.Update;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -27,8 +29,12 @@ public class UserController {
     }
 
     @GetMapping("{id}")
-    public UserDto getById(@PathVariable long id) {
-        return UserMapper.toUserDto(userService.getById(id));
+    public UserDto getById(@PathVariable long id, WebRequest request) {
+        User user = userService.getById(id);
+        if (request.checkNotModified(ETags.of("user", user.getId(), user.getVersion()))) {
+            return null;
+        }
+        return UserMapper.toUserDto(user);
     }
 
     @PostMapping
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+
+/**
+ * Checks that a user exists with a primary key lookup, without loading the user into the persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExistenceChecker {
+    private final UserRepository userRepository;
+
+    public void check(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с id=" + userId + " несуществует");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
@@ -9,6 +10,8 @@ public interface UserService {
 
     User getById(long id);
 
+    List<User> getAllByIds(Collection<Long> ids);
+
     User add(User user);
 
     User update(long id, User user);
@@ -2,9 +2,16 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.ShareItConstants;
+import ru.practicum.shareit.common.cache.CacheInvalidation;
+import ru.practicum.shareit.common.cache.CacheInvalidationBus;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.*;
@@ -15,6 +22,8 @@ import java.util.*;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public List<User> getAll() {
@@ -22,11 +31,17 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = ShareItConstants.USERS_CACHE, key = "#id")
     public User getById(long id) {
         return repository.findById(id).orElseThrow(() ->
                 new NotFoundException("Пользователь с id=" + id + " несуществует"));
     }
 
+    @Override
+    public List<User> getAllByIds(Collection<Long> ids) {
+        return repository.findAllById(ids);
+    }
+
     @Override
     @Transactional
     public User add(User user) {
@@ -35,6 +50,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ShareItConstants.USERS_CACHE, key = "#id")
     public User update(long id, User user) {
         user.setId(id);
         User prevUser = getById(id);
@@ -44,14 +60,23 @@ public class UserServiceImpl implements UserService {
         if (user.getEmail() != null) {
             prevUser.setEmail(user.getEmail());
         }
-        return repository.save(prevUser);
+        User savedUser = repository.save(prevUser);
+        cacheInvalidationBus.publish(CacheInvalidation.of(ShareItConstants.USERS_CACHE, id));
+        return savedUser;
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ShareItConstants.USERS_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = ShareItConstants.ITEMS_CACHE, allEntries = true)
+    })
     public void delete(long id) {
         User user = getById(id);
         repository.delete(user);
+        itemSearchEngine.onOwnerDeleted(id);
+        cacheInvalidationBus.publish(CacheInvalidation.of(ShareItConstants.USERS_CACHE, id));
+        cacheInvalidationBus.publish(CacheInvalidation.allEntries(ShareItConstants.ITEMS_CACHE));
         log.info("Пользователь с id={} удален", id);
     }
 }
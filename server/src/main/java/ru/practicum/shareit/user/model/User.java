@@ -4,6 +4,8 @@ import lombok.*;
 
 import javax.persistence.*;
 
+import static ru.practicum.shareit.common.ShareItConstants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Table(name = "users", schema = "public")
 @Getter
@@ -14,11 +16,18 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String name;
     private String email;
 
+    @Version
+    private Long version;
+
+    public User(Long id, String name, String email) {
+        this(id, name, email, null);
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,21 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector);
+
+-- Tables created before ids moved from identity columns to the pooled sequences of schema.sql.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('users_seq', greatest((SELECT max(id) FROM users), (SELECT last_value FROM users_seq)));
+SELECT setval('requests_seq', greatest((SELECT max(id) FROM requests), (SELECT last_value FROM requests_seq)));
+SELECT setval('items_seq', greatest((SELECT max(id) FROM items), (SELECT last_value FROM items_seq)));
+SELECT setval('bookings_seq', greatest((SELECT max(id) FROM bookings), (SELECT last_value FROM bookings_seq)));
+SELECT setval('comments_seq', greatest((SELECT max(id) FROM comments), (SELECT last_value FROM comments_seq)));
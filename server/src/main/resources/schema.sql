@@ -1,6 +1,14 @@
+-- Ids come from pooled sequences so Hibernate can batch inserts; INCREMENT BY is ShareItConstants.ID_ALLOCATION_SIZE.
+-- A pooled block ends at the value nextval returned, so rows inserted through the column default never collide with it.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-  id     BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id     BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
   name   varchar(255) NOT NULL,
   email  varchar(64) NOT NULL,
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
@@ -8,7 +16,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-  id            BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id            BIGINT DEFAULT nextval('requests_seq') PRIMARY KEY,
   description   TEXT,
   requester_id  BIGINT REFERENCES users(id) ON DELETE CASCADE,
   created    TIMESTAMP WITHOUT TIME ZONE
@@ -16,7 +24,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-  id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id          BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
   name        varchar(255) NOT NULL,
   description TEXT,
   available   boolean,
@@ -26,7 +34,7 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-  id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id          BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
   start_date  TIMESTAMP WITHOUT TIME ZONE,
   end_date    TIMESTAMP WITHOUT TIME ZONE,
   item_id     BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
@@ -36,11 +44,32 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-  id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  id         BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
   text       TEXT,
   item_id    BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
   author_id  BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
   created    TIMESTAMP WITHOUT TIME ZONE
 );
 
+-- Optimistic lock versions, also the source of the ETags of single-entity responses.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Indexes for the repository query paths, v1.
+-- Keep every derived query in BookingRepository, ItemRepository, CommentRepository and
+-- ItemRequestRepository covered here; QueryPlanTest fails when one of them falls back to a table scan.
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
 
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id, id);
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id);
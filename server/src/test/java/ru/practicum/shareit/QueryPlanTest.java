@@ -0,0 +1,211 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Runs the repository methods and checks the plan of every statement Hibernate actually sent,
+ * so the check follows the queries as they change.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$RecordingStatementInspector")
+class QueryPlanTest {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    private static final int USERS = 500;
+    private static final int REQUESTS = 2_000;
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS = 20_000;
+    private static final int COMMENTS = 5_000;
+    private static final long ID_BASE = 1_000_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private long userId;
+    private long itemId;
+    private long requestId;
+
+    @BeforeEach
+    void seed() {
+        // explicit contiguous ids far above the sequences: the column defaults take a whole pooled block per row
+        jdbcTemplate.update("insert into users (id, name, email) " +
+                "select " + ID_BASE + " + x, 'user' || x, 'user' || x || '@plan.ru' from system_range(1, " + USERS + ")");
+        userId = jdbcTemplate.queryForObject("select min(id) from users", Long.class);
+
+        jdbcTemplate.update("insert into requests (id, description, requester_id, created) " +
+                "select " + ID_BASE + " + x, 'request' || x, " + userId + " + mod(x, " + USERS + "), " +
+                "dateadd('MINUTE', x, timestamp '2022-01-01 00:00:00') from system_range(1, " + REQUESTS + ")");
+        requestId = jdbcTemplate.queryForObject("select min(id) from requests", Long.class);
+
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id, request_id) " +
+                "select " + ID_BASE + " + x, 'item' || x, 'description' || x, mod(x, 2) = 0, " + userId + " + mod(x, " + USERS + "), " +
+                "case when mod(x, 3) = 0 then " + requestId + " + mod(x, " + REQUESTS + ") end " +
+                "from system_range(1, " + ITEMS + ")");
+        itemId = jdbcTemplate.queryForObject("select min(id) from items", Long.class);
+
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "select dateadd('HOUR', x, timestamp '2022-01-01 00:00:00'), " +
+                "dateadd('HOUR', x + 2, timestamp '2022-01-01 00:00:00'), " +
+                itemId + " + mod(x, " + ITEMS + "), " + userId + " + mod(x * 7, " + USERS + "), " +
+                "case mod(x, 3) when 0 then 'WAITING' when 1 then 'APPROVED' else 'REJECTED' end " +
+                "from system_range(1, " + BOOKINGS + ")");
+
+        jdbcTemplate.update("insert into comments (text, item_id, author_id, created) " +
+                "select 'comment' || x, " + itemId + " + mod(x, " + ITEMS + "), " + userId + " + mod(x, " + USERS + "), " +
+                "timestamp '2022-06-01 00:00:00' from system_range(1, " + COMMENTS + ")");
+
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = ids(itemId);
+        List<Long> requestIds = ids(requestId);
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("BookingRepository.findByBookerIdOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdOrderByStartDesc(userId, pageable));
+        queries.put("BookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndStatusEqualsOrderByStartDesc(userId, Status.WAITING, pageable));
+        queries.put("BookingRepository.findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc",
+                () -> bookingRepository
+                .findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(userId, now, Status.APPROVED, pageable));
+        queries.put("BookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndStartIsAfterOrderByStartDesc(userId, now, pageable));
+        queries.put("BookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc",
+                () -> bookingRepository
+                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, now, now, pageable));
+        queries.put("BookingRepository.findByBookerIdAfterCursor", () -> bookingRepository
+                .findByBookerIdAfterCursor(userId, State.ALL, now, new BookingCursor(now, Long.MAX_VALUE), 10));
+        queries.put("BookingRepository.findByItemIdAndStatusEquals", () -> bookingRepository
+                .findByItemIdAndStatusEquals(itemId, Status.APPROVED));
+        queries.put("BookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter",
+                () -> bookingRepository
+                .existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                        itemId, List.of(Status.WAITING, Status.APPROVED), now, now));
+        queries.put("BookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore",
+                () -> bookingRepository
+                .existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(userId, itemId, Status.APPROVED, now));
+        queries.put("BookingRepository.findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc",
+                () -> bookingRepository
+                .findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(itemId, Status.APPROVED, now));
+        queries.put("BookingRepository.findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc",
+                () -> bookingRepository
+                .findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(itemId, Status.APPROVED, now));
+        queries.put("BookingRepository.findLastByItemIdIn", () -> bookingRepository
+                .findLastByItemIdIn(itemIds, Status.APPROVED, now));
+        queries.put("BookingRepository.findNextByItemIdIn", () -> bookingRepository
+                .findNextByItemIdIn(itemIds, Status.APPROVED, now));
+        queries.put("BookingRepository.findByOwnerIdOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdOrderByStartDesc(userId, pageable));
+        queries.put("BookingRepository.findByOwnerIdAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndStatusEqualsOrderByStartDesc(userId, Status.WAITING, pageable));
+        queries.put("BookingRepository.findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc",
+                () -> bookingRepository
+                .findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(userId, now, Status.APPROVED, pageable));
+        queries.put("BookingRepository.findByOwnerIdAndStartIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndStartIsAfterOrderByStartDesc(userId, now, pageable));
+        queries.put("BookingRepository.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc",
+                () -> bookingRepository
+                .findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, now, now, pageable));
+        queries.put("BookingRepository.findByOwnerIdAfterCursor", () -> bookingRepository
+                .findByOwnerIdAfterCursor(userId, State.ALL, now, new BookingCursor(now, Long.MAX_VALUE), 10));
+
+        queries.put("ItemRepository.getAllByOwnerIdOrderByIdAsc", () -> itemRepository
+                .getAllByOwnerIdOrderByIdAsc(userId, pageable));
+        queries.put("ItemRepository.findByIdGreaterThanOrderByIdAsc", () -> itemRepository
+                .findByIdGreaterThanOrderByIdAsc(itemId, pageable));
+        queries.put("ItemRepository.getAllByRequestIdOrderByIdAsc", () -> itemRepository
+                .getAllByRequestIdOrderByIdAsc(requestId));
+        queries.put("ItemRepository.findAllByRequestIdInOrderByIdAsc", () -> itemRepository
+                .findAllByRequestIdInOrderByIdAsc(requestIds));
+
+        queries.put("CommentRepository.getAllByItemIdOrderByIdAsc", () -> commentRepository
+                .getAllByItemIdOrderByIdAsc(itemId));
+        queries.put("CommentRepository.getAllByItemIdInOrderByIdAsc", () -> commentRepository
+                .getAllByItemIdInOrderByIdAsc(itemIds));
+
+        queries.put("ItemRequestRepository.getAllByRequesterIdOrderByCreatedAsc", () -> itemRequestRepository
+                .getAllByRequesterIdOrderByCreatedAsc(userId));
+        queries.put("ItemRequestRepository.getAllByRequesterIdNotOrderByCreatedAsc", () -> itemRequestRepository
+                .getAllByRequesterIdNotOrderByCreatedAsc(userId, pageable));
+
+        assertAll(queries.entrySet().stream()
+                .map(query -> (Executable) () -> {
+                    STATEMENTS.clear();
+                    query.getValue().run();
+
+                    assertThat(query.getKey(), STATEMENTS, not(empty()));
+                    for (String sql : STATEMENTS) {
+                        assertThat(query.getKey(), explain(sql), not(containsString("tableScan")));
+                    }
+                }));
+    }
+
+    private static List<Long> ids(long first) {
+        return LongStream.range(first, first + 20).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Plans the statement as Hibernate prepared it; H2 plans before the parameters are bound, so nulls do.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query("explain " + sql,
+                statement -> {
+                    for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                        statement.setObject(i, null);
+                    }
+                },
+                (ResultSetExtractor<String>) resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+/**
+ * The replica is a second, empty H2 database, so whatever a read finds tells where it was routed.
+ */
+@SpringBootTest(properties = "shareit.datasource.replicas=" + ReplicaRoutingTest.REPLICA_URL)
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'";
+    private static final String WRITER_ID = "42";
+    private static final long OWNER_ID = 900001;
+    private static final long AUTHOR_ID = 900002;
+    private static final long ITEM_ID = 900001;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+    private final JdbcTemplate replicaJdbcTemplate =
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"));
+
+    @AfterEach
+    void cleanUp() {
+        // outside of a transaction, so on the primary
+        jdbcTemplate.update("delete from users where email = 'replica-user@user.com'");
+        for (JdbcTemplate database : List.of(jdbcTemplate, replicaJdbcTemplate)) {
+            database.update("delete from users where id in (?, ?)", OWNER_ID, AUTHOR_ID);
+        }
+    }
+
+    @Test
+    void testReadsGoToReplicaUnlessWriterIsPinned() throws Exception {
+        mockMvc.perform(post("/users")
+                        .header(USER_ID_HEADER, WRITER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"user\", \"email\": \"replica-user@user.com\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", not(hasItem("replica-user@user.com"))));
+        mockMvc.perform(get("/users").header(USER_ID_HEADER, "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", not(hasItem("replica-user@user.com"))));
+        mockMvc.perform(get("/users").header(USER_ID_HEADER, WRITER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem("replica-user@user.com")));
+    }
+
+    @Test
+    void testWriteAfterReadInOneRequestGoesToPrimary() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (JdbcTemplate database : List.of(jdbcTemplate, replicaJdbcTemplate)) {
+            database.update("insert into users (id, name, email) values (?, 'owner', 'replica-owner@user.com')",
+                    OWNER_ID);
+            database.update("insert into users (id, name, email) values (?, 'author', 'replica-author@user.com')",
+                    AUTHOR_ID);
+            database.update("insert into items (id, name, description, available, owner_id) "
+                    + "values (?, 'item', 'item', true, ?)", ITEM_ID, OWNER_ID);
+            database.update("insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "values (?, ?, ?, ?, 'APPROVED')", now.minusDays(2), now.minusDays(1), ITEM_ID, AUTHOR_ID);
+        }
+        // the author is read in a read-only transaction before the comment is written
+        cacheManager.getCache("users").clear();
+
+        mockMvc.perform(post("/items/" + ITEM_ID + "/comment")
+                        .header(USER_ID_HEADER, AUTHOR_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"comment\"}"))
+                .andExpect(status().isOk());
+
+        String countComments = "select count(*) from comments where item_id = ?";
+        assertEquals(1, jdbcTemplate.queryForObject(countComments, Integer.class, ITEM_ID));
+        assertEquals(0, replicaJdbcTemplate.queryForObject(countComments, Integer.class, ITEM_ID));
+        // the write pinned the author, so the comment is read back from the primary
+        mockMvc.perform(get("/items/" + ITEM_ID).header(USER_ID_HEADER, AUTHOR_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)));
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.common.ShareItConstants;
+import ru.practicum.shareit.common.cache.InProcessCacheInvalidationBus;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ServiceCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final CacheManager otherNodeCacheManager =
+            new ConcurrentMapCacheManager(ShareItConstants.USERS_CACHE, ShareItConstants.ITEMS_CACHE);
+    private final InProcessCacheInvalidationBus otherNode = new InProcessCacheInvalidationBus(otherNodeCacheManager);
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void fillData() {
+        owner = userService.add(new User(null, "owner", "cache-owner@user.com"));
+        item = itemService.add(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        try {
+            userService.delete(owner.getId());
+        } catch (NotFoundException ignored) {
+            // удален в тесте
+        }
+        cache(ShareItConstants.USERS_CACHE).clear();
+        cache(ShareItConstants.ITEMS_CACHE).clear();
+        otherNode.destroy();
+    }
+
+    @Test
+    void testGetUserByIdIsCached() {
+        double hits = hits(ShareItConstants.USERS_CACHE);
+
+        User first = userService.getById(owner.getId());
+        User second = userService.getById(owner.getId());
+
+        assertSame(first, second);
+        assertEquals(hits + 1, hits(ShareItConstants.USERS_CACHE));
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedUser() {
+        userService.getById(owner.getId());
+
+        userService.update(owner.getId(), new User(null, "updated", null));
+
+        assertNull(cache(ShareItConstants.USERS_CACHE).get(owner.getId()));
+        assertEquals("updated", userService.getById(owner.getId()).getName());
+    }
+
+    @Test
+    void testUpdateItemEvictsCachedItem() {
+        itemService.getById(item.getId());
+
+        itemService.update(new Item(item.getId(), "Шуруповерт", null, null, owner.getId(), null));
+
+        assertNull(cache(ShareItConstants.ITEMS_CACHE).get(item.getId()));
+        assertEquals("Шуруповерт", itemService.getById(item.getId()).getName());
+    }
+
+    @Test
+    void testDeleteItemEvictsCachedItem() {
+        itemService.getById(item.getId());
+
+        itemService.delete(item.getId());
+
+        assertThrows(NotFoundException.class, () -> itemService.getById(item.getId()));
+    }
+
+    @Test
+    void testDeleteUserEvictsCachedUserAndItems() {
+        userService.getById(owner.getId());
+        itemService.getById(item.getId());
+
+        userService.delete(owner.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getById(owner.getId()));
+        assertThrows(NotFoundException.class, () -> itemService.getById(item.getId()));
+    }
+
+    @Test
+    void testUpdateItemEvictsItemOnOtherNodes() {
+        otherNodeCache(ShareItConstants.ITEMS_CACHE).put(item.getId(), item);
+
+        itemService.update(new Item(item.getId(), "Шуруповерт", null, null, owner.getId(), null));
+
+        assertNull(otherNodeCache(ShareItConstants.ITEMS_CACHE).get(item.getId()));
+    }
+
+    @Test
+    void testDeleteUserEvictsUserAndItemsOnOtherNodes() {
+        otherNodeCache(ShareItConstants.USERS_CACHE).put(owner.getId(), owner);
+        otherNodeCache(ShareItConstants.ITEMS_CACHE).put(item.getId(), item);
+
+        userService.delete(owner.getId());
+
+        assertNull(otherNodeCache(ShareItConstants.USERS_CACHE).get(owner.getId()));
+        assertNull(otherNodeCache(ShareItConstants.ITEMS_CACHE).get(item.getId()));
+    }
+
+    @Test
+    void testFailedUpdateDoesNotEvictOnOtherNodes() {
+        otherNodeCache(ShareItConstants.ITEMS_CACHE).put(item.getId(), item);
+
+        assertThrows(ForbiddenException.class, () -> itemService.update(
+                new Item(item.getId(), "Шуруповерт", null, null, owner.getId() + 1, null)));
+
+        assertSame(item, otherNodeCache(ShareItConstants.ITEMS_CACHE).get(item.getId()).get());
+    }
+
+    private Cache otherNodeCache(String name) {
+        return Objects.requireNonNull(otherNodeCacheManager.getCache(name));
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name));
+    }
+
+    private double hits(String cacheName) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paginated repository methods return slices, so each call must be a single select without a count query.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SliceQueryTest$RecordingStatementInspector")
+class SliceQueryTest {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private final Pageable pageable = PageRequest.of(0, 1);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void fillData() {
+        owner = em.persist(new User(null, "owner", "owner@user.com"));
+        booker = em.persist(new User(null, "booker", "booker@user.com"));
+        for (int i = 0; i < 3; i++) {
+            Item item = em.persist(new Item(null, "Дрель " + i, "Простая дрель", true, owner.getId(), null));
+            em.persist(new Booking(null, now.minusDays(i + 2), now.minusDays(i + 1),
+                    item.getId(), booker.getId(), Status.APPROVED));
+            em.persist(new ItemRequest(null, "Нужна дрель " + i, owner.getId(), now.minusHours(i)));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void testPaginatedQueriesSkipCount() {
+        Map<String, Supplier<Slice<?>>> queries = new LinkedHashMap<>();
+        queries.put("findByBookerIdOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdOrderByStartDesc(booker.getId(), pageable));
+        queries.put("findByBookerIdAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndStatusEqualsOrderByStartDesc(booker.getId(), Status.APPROVED, pageable));
+        queries.put("findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                        booker.getId(), now, Status.APPROVED, pageable));
+        queries.put("findByBookerIdAndStartIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndStartIsAfterOrderByStartDesc(booker.getId(), now.minusYears(1), pageable));
+        queries.put("findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+                        booker.getId(), now, now.minusYears(1), pageable));
+        queries.put("findByOwnerIdOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdOrderByStartDesc(owner.getId(), pageable));
+        queries.put("findByOwnerIdAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndStatusEqualsOrderByStartDesc(owner.getId(), Status.APPROVED, pageable));
+        queries.put("findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                        owner.getId(), now, Status.APPROVED, pageable));
+        queries.put("findByOwnerIdAndStartIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndStartIsAfterOrderByStartDesc(owner.getId(), now.minusYears(1), pageable));
+        queries.put("findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc", () -> bookingRepository
+                .findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+                        owner.getId(), now, now.minusYears(1), pageable));
+        queries.put("getAllByOwnerIdOrderByIdAsc", () -> itemRepository
+                .getAllByOwnerIdOrderByIdAsc(owner.getId(), pageable));
+        queries.put("search", () -> itemRepository.search("дрель", pageable));
+        queries.put("getAllByRequesterIdNotOrderByCreatedAsc", () -> itemRequestRepository
+                .getAllByRequesterIdNotOrderByCreatedAsc(booker.getId(), pageable));
+
+        assertAll(queries.entrySet().stream()
+                .map(query -> (Executable) () -> {
+                    STATEMENTS.clear();
+                    Slice<?> slice = query.getValue().get();
+
+                    assertTrue(slice.hasNext(), query.getKey());
+                    assertThat(query.getKey(), STATEMENTS, hasSize(1));
+                    assertThat(query.getKey(), STATEMENTS, everyItem(not(containsString("count("))));
+                }));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
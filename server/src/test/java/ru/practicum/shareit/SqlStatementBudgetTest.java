@@ -0,0 +1,208 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.common.SqlStatementBudgetFilter;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
+
+/**
+ * Pins the number of SQL statements of every endpoint, with caches cleared before each request.
+ * A change of a number here is a change of the endpoint's database cost and deserves a look.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User owner;
+    private User booker;
+    private ItemRequest request;
+    private Item item;
+    private Booking waiting;
+
+    @BeforeEach
+    void fillData() {
+        owner = userService.add(new User(null, "owner", "budget-owner@user.com"));
+        booker = userService.add(new User(null, "booker", "budget-booker@user.com"));
+        request = itemRequestService.add(new ItemRequest(null, "Нужна дрель", booker.getId(), now));
+        item = itemService.add(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), request.getId()));
+        bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1),
+                item.getId(), booker.getId(), Status.APPROVED));
+        waiting = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                item.getId(), booker.getId(), Status.WAITING));
+        itemService.addComment(new Comment(null, "Отличная дрель", item.getId(), booker.getId(), now));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User user : new User[]{owner, booker}) {
+            try {
+                userService.delete(user.getId());
+            } catch (NotFoundException ignored) {
+                // удален в тесте
+            }
+        }
+        clearCaches();
+    }
+
+    @Test
+    void testUserEndpoints() throws Exception {
+        assertStatements(1, get("/users"));
+        assertStatements(1, get("/users/{id}", owner.getId()));
+        assertStatementsOfCreate(1, post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"user\", \"email\": \"budget-user@user.com\"}"));
+        assertStatements(2, patch("/users/{id}", owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"new owner\"}"));
+        User user = userService.getAll().stream()
+                .filter(u -> Objects.equals(u.getEmail(), "budget-user@user.com"))
+                .findFirst()
+                .orElseThrow();
+        assertStatements(2, delete("/users/{id}", user.getId()));
+    }
+
+    @Test
+    void testItemEndpoints() throws Exception {
+        assertStatements(6, get("/items").header(USER_ID_HEADER, owner.getId()));
+        assertStatements(5, get("/items/{id}", item.getId()).header(USER_ID_HEADER, owner.getId()));
+        assertStatements(3, get("/items/{id}", item.getId()).header(USER_ID_HEADER, booker.getId()));
+        assertStatements(1, get("/items/search").param("text", "дрель"));
+        assertStatementsOfCreate(2, post("/items")
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Пила\", \"description\": \"Ручная пила\", \"available\": true}"));
+        assertStatementsOfCreate(2, post("/items/batch")
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": \"Пила\", \"description\": \"Ручная пила\", \"available\": true}, " +
+                        "{\"name\": \"Отвертка\", \"description\": \"Крестовая\", \"available\": true}]"));
+        assertStatements(2, patch("/items/{id}", item.getId())
+                .header(USER_ID_HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"Ударная дрель\"}"));
+        assertStatementsOfCreate(3, post("/items/{id}/comment", item.getId())
+                .header(USER_ID_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\": \"Снова отличная\"}"));
+        assertStatements(2, delete("/items/{id}", item.getId()));
+    }
+
+    @Test
+    void testBookingEndpoints() throws Exception {
+        assertStatements(3, get("/bookings/{id}", waiting.getId()).header(USER_ID_HEADER, booker.getId()));
+        assertStatements(4, get("/bookings").header(USER_ID_HEADER, booker.getId()));
+        assertStatements(4, get("/bookings/owner").header(USER_ID_HEADER, owner.getId()));
+        assertStatements(4, get("/bookings").param("cursor", "").header(USER_ID_HEADER, booker.getId()));
+        assertStatements(4, get("/bookings/owner").param("cursor", "").header(USER_ID_HEADER, owner.getId()));
+        assertStatementsOfCreate(5, post("/bookings")
+                .header(USER_ID_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"itemId\": " + item.getId() + ", " +
+                        "\"start\": \"" + now.plusDays(5) + "\", \"end\": \"" + now.plusDays(6) + "\"}"));
+        assertStatements(4, patch("/bookings/{id}", waiting.getId())
+                .header(USER_ID_HEADER, owner.getId())
+                .param("approved", "true"));
+    }
+
+    @Test
+    void testItemRequestEndpoints() throws Exception {
+        assertStatementsOfCreate(2, post("/requests")
+                .header(USER_ID_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"Нужна пила\"}"));
+        assertStatements(3, get("/requests/{id}", request.getId()).header(USER_ID_HEADER, owner.getId()));
+        assertStatements(3, get("/requests").header(USER_ID_HEADER, booker.getId()));
+        assertStatements(3, get("/requests/all").header(USER_ID_HEADER, owner.getId()));
+    }
+
+    @Test
+    void testStatementsAreRecordedPerEndpoint() throws Exception {
+        clearCaches();
+        mockMvc.perform(get("/users/{id}", owner.getId())).andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementBudgetFilter.METRIC)
+                .tags("method", "GET", "uri", "/users/{id}")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.count() > 0);
+        assertTrue(summary.max() >= 1);
+    }
+
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        assertEquals(expected, statements(request), request.toString());
+    }
+
+    /**
+     * One more statement is fine when the insert starts a new pooled block of ids.
+     */
+    private void assertStatementsOfCreate(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        double actual = statements(request);
+        assertTrue(actual == expected || actual == expected + 1, "expected " + expected + " but was " + actual);
+    }
+
+    private double statements(MockHttpServletRequestBuilder request) throws Exception {
+        clearCaches();
+        double before = totalStatements();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return totalStatements() - before;
+    }
+
+    private double totalStatements() {
+        return meterRegistry.find(SqlStatementBudgetFilter.METRIC).summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+}
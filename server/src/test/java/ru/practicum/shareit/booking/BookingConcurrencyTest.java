@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int BOOKERS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void fillData() {
+        owner = userService.add(new User(null, "owner", "concurrency-owner@user.com"));
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userService.add(new User(null, "booker" + i, "concurrency-booker" + i + "@user.com")));
+        }
+        item = itemService.add(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userService.delete(owner.getId());
+        bookers.forEach(booker -> userService.delete(booker.getId()));
+    }
+
+    @Test
+    void testParallelOverlappingBookingsOfOneItemLetOnlyOneThrough() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        CountDownLatch ready = new CountDownLatch(BOOKERS);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        List<Future<Booking>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < BOOKERS; i++) {
+                Booking booking = new Booking(null, start.plusHours(i), start.plusHours(i).plusDays(1),
+                        item.getId(), bookers.get(i).getId(), null);
+                results.add(executor.submit(book(booking, ready)));
+            }
+
+            int created = 0;
+            for (Future<Booking> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, bookingService.getByItemId(item.getId(), Status.WAITING).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelDisjointBookingsOfOneItemAllGoThrough() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        CountDownLatch ready = new CountDownLatch(BOOKERS);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        List<Future<Booking>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < BOOKERS; i++) {
+                Booking booking = new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(12),
+                        item.getId(), bookers.get(i).getId(), null);
+                results.add(executor.submit(book(booking, ready)));
+            }
+
+            for (Future<Booking> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(BOOKERS, bookingService.getByItemId(item.getId(), Status.WAITING).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Booking> book(Booking booking, CountDownLatch ready) {
+        return () -> {
+            ready.countDown();
+            ready.await();
+            return bookingService.add(booking);
+        };
+    }
+}
@@ -11,32 +11,45 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.BookingTestUtils.assertBookingAtIndex;
 import static ru.practicum.shareit.booking.BookingTestUtils.generateBookings;
 import static ru.practicum.shareit.booking.BookingTestUtils.getDefaultBooking;
+import static ru.practicum.shareit.common.ShareItConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
 import static ru.practicum.shareit.item.ItemTestUtils.getDefaultItem;
 import static ru.practicum.shareit.user.UserTestUtils.getDefaultUser;
@@ -100,15 +113,47 @@ class BookingControllerTest {
         verify(userService, times(1)).getById(user.getId());
     }
 
+    @Test
+    void getByIdWhenClientHasSameVersionReturnsNotModified() throws Exception {
+        Booking booking = getDefaultBooking().toBuilder()
+                .version(2L)
+                .build();
+        Item item = getDefaultItem().toBuilder()
+                .version(5L)
+                .build();
+        User user = getDefaultUser().toBuilder()
+                .version(0L)
+                .build();
+        when(bookingService.getById(booking.getId(), booking.getBookerId())).thenReturn(booking);
+        when(userService.getById(user.getId())).thenReturn(user);
+        when(itemService.getById(item.getId())).thenReturn(item);
+        String eTag = "\"booking-" + booking.getId() + "-2-5-0\"";
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT + booking.getId())
+                        .header(USER_ID_HEADER, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        item.setVersion(6L);
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT + booking.getId())
+                        .header(USER_ID_HEADER, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.name", is(item.getName())));
+    }
+
     @Test
     void getAllByUserId() throws Exception {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         Item item = getDefaultItem();
         User user = getDefaultUser();
         when(bookingService.getAllByUserIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
-                .thenReturn(new PageImpl<>(bookings));
-        when(userService.getById(user.getId())).thenReturn(user);
-        when(itemService.getById(item.getId())).thenReturn(item);
+                .thenReturn(new SliceImpl<>(bookings));
+        when(userService.getAllByIds(Set.of(user.getId()))).thenReturn(List.of(user));
+        when(itemService.getAllByIds(Set.of(item.getId()))).thenReturn(List.of(item));
 
         MvcResult result = mockMvc.perform(get(BOOKINGS_ENDPOINT)
                         .header(USER_ID_HEADER, user.getId()))
@@ -122,8 +167,10 @@ class BookingControllerTest {
 
         verify(bookingService, times(1))
                 .getAllByUserIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        verify(itemService, times(PAGE_SIZE_DEFAULT)).getById(item.getId());
-        verify(userService, times(PAGE_SIZE_DEFAULT)).getById(user.getId());
+        verify(itemService, times(1)).getAllByIds(Set.of(item.getId()));
+        verify(userService, times(1)).getAllByIds(Set.of(user.getId()));
+        verify(itemService, never()).getById(any());
+        verify(userService, never()).getById(anyLong());
     }
 
     @Test
@@ -132,9 +179,9 @@ class BookingControllerTest {
         Item item = getDefaultItem();
         User user = getDefaultUser();
         when(bookingService.getAllByOwnerIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
-                .thenReturn(new PageImpl<>(bookings));
-        when(userService.getById(user.getId())).thenReturn(user);
-        when(itemService.getById(item.getId())).thenReturn(item);
+                .thenReturn(new SliceImpl<>(bookings));
+        when(userService.getAllByIds(Set.of(user.getId()))).thenReturn(List.of(user));
+        when(itemService.getAllByIds(Set.of(item.getId()))).thenReturn(List.of(item));
 
         MvcResult result = mockMvc.perform(get(BOOKINGS_ENDPOINT + "owner")
                         .header(USER_ID_HEADER, user.getId()))
@@ -148,8 +195,99 @@ class BookingControllerTest {
 
         verify(bookingService, times(1))
                 .getAllByOwnerIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        verify(itemService, times(PAGE_SIZE_DEFAULT)).getById(item.getId());
-        verify(userService, times(PAGE_SIZE_DEFAULT)).getById(user.getId());
+        verify(itemService, times(1)).getAllByIds(Set.of(item.getId()));
+        verify(userService, times(1)).getAllByIds(Set.of(user.getId()));
+        verify(itemService, never()).getById(any());
+        verify(userService, never()).getById(anyLong());
+    }
+
+    @Test
+    void getAllByUserIdWhenItemIsMissingShouldReturnNotFound() throws Exception {
+        List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
+        Item item = getDefaultItem();
+        User user = getDefaultUser();
+        when(bookingService.getAllByUserIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(bookings));
+        when(userService.getAllByIds(Set.of(user.getId()))).thenReturn(List.of(user));
+        when(itemService.getAllByIds(Set.of(item.getId()))).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT)
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllByOwnerIdWhenBookerIsMissingShouldReturnNotFound() throws Exception {
+        List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
+        Item item = getDefaultItem();
+        User user = getDefaultUser();
+        when(bookingService.getAllByOwnerIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(bookings));
+        when(userService.getAllByIds(Set.of(user.getId()))).thenReturn(Collections.emptyList());
+        when(itemService.getAllByIds(Set.of(item.getId()))).thenReturn(List.of(item));
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT + "owner")
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllByOwnerIdWhenEmptySkipsLookups() throws Exception {
+        User user = getDefaultUser();
+        when(bookingService.getAllByOwnerIdOrderByStartDesc(user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT + "owner")
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(itemService, never()).getAllByIds(any());
+        verify(userService, never()).getAllByIds(any());
+    }
+
+    @Test
+    void getAllByOwnerIdAfterCursorReturnsNextCursor() throws Exception {
+        List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
+        Item item = getDefaultItem();
+        User user = getDefaultUser();
+        Booking last = bookings.get(PAGE_SIZE_DEFAULT - 1);
+        when(bookingService.getAllByOwnerIdAfterCursor(user.getId(), State.ALL, null, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(bookings, PageRequest.of(0, PAGE_SIZE_DEFAULT), true));
+        when(userService.getAllByIds(Set.of(user.getId()))).thenReturn(List.of(user));
+        when(itemService.getAllByIds(Set.of(item.getId()))).thenReturn(List.of(item));
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT + "owner")
+                        .param("cursor", "")
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(PAGE_SIZE_DEFAULT)))
+                .andExpect(header().string(NEXT_CURSOR_HEADER, BookingCursor.of(last).encode()));
+
+        verify(bookingService, never()).getAllByOwnerIdOrderByStartDesc(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllByUserIdAfterCursorOnLastSlice() throws Exception {
+        User user = getDefaultUser();
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L);
+        when(bookingService.getAllByUserIdAfterCursor(user.getId(), State.ALL, cursor, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        mockMvc.perform(get(BOOKINGS_ENDPOINT)
+                        .param("cursor", cursor.encode())
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllByUserIdWithMalformedCursor() throws Exception {
+        mockMvc.perform(get(BOOKINGS_ENDPOINT)
+                        .param("cursor", "not-a-cursor")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -193,6 +331,32 @@ class BookingControllerTest {
         verify(userService, times(1)).getById(user.getId());
     }
 
+    @Test
+    void createWhenItemIsAlreadyBooked() throws Exception {
+        Booking booking = getDefaultBooking();
+
+        BookingRequestDto bookingDto = BookingRequestDto.builder()
+                .start(booking.getStart().toString())
+                .end(booking.getEnd().toString())
+                .itemId(booking.getItemId())
+                .build();
+
+        when(bookingService.add(any(Booking.class))).thenThrow(new ConflictException("Предмет уже забронирован"));
+
+        mockMvc.perform(post(BOOKINGS_ENDPOINT)
+                        .header(USER_ID_HEADER, 1L)
+                        .content(mapper.writeValueAsString(bookingDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+
+        verify(bookingService, times(1))
+                .add(any(Booking.class));
+        verify(itemService, never()).getById(anyLong());
+        verify(userService, never()).getById(anyLong());
+    }
+
     @Test
     void update() throws Exception {
         Booking booking = getDefaultBooking();
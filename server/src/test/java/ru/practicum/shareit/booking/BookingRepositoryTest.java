@@ -0,0 +1,175 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BookingRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User owner;
+    private User booker;
+    private Item item1;
+    private Item item2;
+    private Booking lastOfItem1;
+    private Booking nextOfItem1;
+    private Booking lastOfItem2;
+
+    @BeforeEach
+    void fillData() {
+        owner = em.persist(new User(null, "owner", "owner@user.com"));
+        booker = em.persist(new User(null, "booker", "booker@user.com"));
+
+        item1 = em.persist(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        item2 = em.persist(new Item(null, "Отвертка", "Крестовая отвертка", true, owner.getId(), null));
+
+        em.persist(booking(item1, booker, now.minusDays(10), now.minusDays(9), Status.APPROVED));
+        lastOfItem1 = em.persist(booking(item1, booker, now.minusDays(5), now.minusDays(4), Status.APPROVED));
+        em.persist(booking(item1, booker, now.minusDays(3), now.minusDays(2), Status.REJECTED));
+        em.persist(booking(item1, booker, now.minusHours(1), now.plusHours(1), Status.APPROVED));
+        nextOfItem1 = em.persist(booking(item1, booker, now.plusDays(1), now.plusDays(2), Status.APPROVED));
+        em.persist(booking(item1, booker, now.plusDays(3), now.plusDays(4), Status.APPROVED));
+        lastOfItem2 = em.persist(booking(item2, booker, now.minusDays(7), now.minusDays(6), Status.APPROVED));
+        em.flush();
+        em.clear();
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        return new Booking(null, start, end, item.getId(), booker.getId(), status);
+    }
+
+    @Test
+    void testFindLastBookingOfItem() {
+        assertEquals(lastOfItem1, bookingRepository
+                .findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(item1.getId(), Status.APPROVED, now)
+                .orElseThrow());
+    }
+
+    @Test
+    void testFindNextBookingOfItem() {
+        assertEquals(nextOfItem1, bookingRepository
+                .findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(item1.getId(), Status.APPROVED, now)
+                .orElseThrow());
+    }
+
+    @Test
+    void testFindLastBookingsOfItems() {
+        Map<Long, Booking> result = bookingRepository
+                .findLastByItemIdIn(List.of(item1.getId(), item2.getId()), Status.APPROVED, now)
+                .stream()
+                .collect(Collectors.toMap(Booking::getItemId, Function.identity()));
+
+        assertEquals(Map.of(item1.getId(), lastOfItem1, item2.getId(), lastOfItem2), result);
+    }
+
+    @Test
+    void testFindNextBookingsOfItems() {
+        List<Booking> result = bookingRepository
+                .findNextByItemIdIn(List.of(item1.getId(), item2.getId()), Status.APPROVED, now);
+
+        assertEquals(List.of(nextOfItem1), result);
+    }
+
+    @Test
+    void testFindNextBookingsWhenNoneMatchStatus() {
+        assertTrue(bookingRepository
+                .findNextByItemIdIn(List.of(item1.getId()), Status.WAITING, now)
+                .isEmpty());
+    }
+
+    @Test
+    void testFindByOwnerIdSkipsOtherOwnersItems() {
+        User stranger = em.persist(new User(null, "stranger", "stranger@user.com"));
+        Item strangerItem = em.persist(new Item(null, "Пила", "Ручная пила", true, stranger.getId(), null));
+        em.persist(booking(strangerItem, booker, now.minusDays(8), now.minusDays(7), Status.APPROVED));
+
+        Slice<Booking> result = bookingRepository.findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                owner.getId(), now, Status.APPROVED, PageRequest.of(0, 2));
+
+        assertEquals(List.of(lastOfItem1, lastOfItem2), result.getContent());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void testFindByBookerIdAfterCursorWalksAllBookings() {
+        Booking sameStart = em.persist(booking(item2, booker, now.minusDays(5), now.minusDays(1), Status.WAITING));
+        em.flush();
+        em.clear();
+        List<Booking> expected = bookingRepository.findByBookerIdOrderByStartDesc(
+                booker.getId(), PageRequest.of(0, 100)).getContent();
+
+        List<Booking> walked = new ArrayList<>();
+        BookingCursor cursor = null;
+        Slice<Booking> slice;
+        do {
+            slice = bookingRepository.findByBookerIdAfterCursor(booker.getId(), State.ALL, now, cursor, 3);
+            walked.addAll(slice.getContent());
+            if (slice.hasContent()) {
+                cursor = BookingCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1));
+            }
+        } while (slice.hasNext());
+
+        assertEquals(expected.size(), walked.size());
+        assertEquals(Set.copyOf(expected), Set.copyOf(walked));
+        assertEquals(walked.indexOf(lastOfItem1) - 1, walked.indexOf(sameStart));
+    }
+
+    @Test
+    void testFindByOwnerIdAfterCursorFiltersState() {
+        Slice<Booking> first = bookingRepository.findByOwnerIdAfterCursor(owner.getId(), State.PAST, now, null, 2);
+        Slice<Booking> second = bookingRepository.findByOwnerIdAfterCursor(
+                owner.getId(), State.PAST, now, BookingCursor.of(first.getContent().get(1)), 2);
+
+        assertEquals(List.of(lastOfItem1, lastOfItem2), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testUpdateStatusIfWaitingOnlyOnceAndOnlyByOwner() {
+        Booking waiting = em.persist(booking(item2, booker, now.plusDays(5), now.plusDays(6), Status.WAITING));
+        em.flush();
+
+        assertEquals(0, bookingRepository.updateStatusIfWaiting(waiting.getId(), booker.getId(), Status.APPROVED));
+        assertEquals(1, bookingRepository.updateStatusIfWaiting(waiting.getId(), owner.getId(), Status.APPROVED));
+        assertEquals(0, bookingRepository.updateStatusIfWaiting(waiting.getId(), owner.getId(), Status.REJECTED));
+        Booking approved = bookingRepository.findById(waiting.getId()).orElseThrow();
+        assertEquals(Status.APPROVED, approved.getStatus());
+        assertEquals(waiting.getVersion() + 1, approved.getVersion());
+    }
+
+    @Test
+    void testExistsFinishedApprovedBookingOfItemByBooker() {
+        assertTrue(bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                booker.getId(), item2.getId(), Status.APPROVED, now));
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                owner.getId(), item2.getId(), Status.APPROVED, now));
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                booker.getId(), item2.getId(), Status.APPROVED, now.minusDays(7)));
+    }
+}
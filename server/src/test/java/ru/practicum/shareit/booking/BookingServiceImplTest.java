@@ -5,22 +5,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -30,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -38,7 +41,6 @@ import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingTestUtils.USER_ID;
 import static ru.practicum.shareit.booking.BookingTestUtils.generateBookings;
 import static ru.practicum.shareit.booking.BookingTestUtils.getDefaultBooking;
-import static ru.practicum.shareit.item.ItemTestUtils.generateItems;
 import static ru.practicum.shareit.item.ItemTestUtils.getDefaultItem;
 import static ru.practicum.shareit.user.UserTestUtils.getDefaultUser;
 
@@ -51,7 +53,7 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
     @Mock
     private ItemRepository itemRepository;
 
@@ -72,15 +74,15 @@ class BookingServiceImplTest {
     @Test
     void getAllByUserIdOrderByStartDescWhenUserNotExistsShouldThrow() {
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class,
                 () -> subject.getAllByUserIdOrderByStartDesc(
                         user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT));
 
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoInteractions(bookingRepository);
     }
 
@@ -89,42 +91,67 @@ class BookingServiceImplTest {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdOrderByStartDesc(user.getId(), pageable))
-                .thenReturn(new PageImpl<>(bookings));
+                .thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdOrderByStartDesc(user.getId(), pageable);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
+    @Test
+    void getAllByUserIdAfterCursorWhenUserExists() {
+        List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
+        User user = getDefaultUser();
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 100L);
+        when(bookingRepository.findByBookerIdAfterCursor(
+                eq(user.getId()), eq(State.FUTURE), any(LocalDateTime.class), eq(cursor), eq(PAGE_SIZE_DEFAULT))
+        ).thenReturn(new SliceImpl<>(bookings));
+
+        Slice<Booking> result = subject.getAllByUserIdAfterCursor(user.getId(), State.FUTURE, cursor, PAGE_SIZE_DEFAULT);
+
+        assertEquals(bookings, result.getContent());
+        verify(bookingRepository, times(1)).findByBookerIdAfterCursor(
+                eq(user.getId()), eq(State.FUTURE), any(LocalDateTime.class), eq(cursor), eq(PAGE_SIZE_DEFAULT));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAllByOwnerIdAfterCursorWhenUserNotExistsShouldThrow() {
+        User user = getDefaultUser();
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
+
+        assertThrows(NotFoundException.class, () -> subject.getAllByOwnerIdAfterCursor(
+                user.getId(), State.ALL, null, PAGE_SIZE_DEFAULT));
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void getAllByUserIdOrderByStartDescWhenUserExistsAndStateIsCurrent() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
                 eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.CURRENT, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
                         eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -133,21 +160,20 @@ class BookingServiceImplTest {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
                 eq(user.getId()), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.PAST, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
                         eq(user.getId()), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -156,21 +182,20 @@ class BookingServiceImplTest {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(
                 eq(user.getId()), any(LocalDateTime.class), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.FUTURE, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdAndStartIsAfterOrderByStartDesc(
                         eq(user.getId()), any(LocalDateTime.class), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -179,21 +204,20 @@ class BookingServiceImplTest {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
                 eq(user.getId()), eq(Status.WAITING), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.WAITING, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdAndStatusEqualsOrderByStartDesc(
                         eq(user.getId()), eq(Status.WAITING), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -202,65 +226,56 @@ class BookingServiceImplTest {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
                 eq(user.getId()), eq(Status.REJECTED), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByUserIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByUserIdOrderByStartDesc(
                 user.getId(), State.REJECTED, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
                 .findByBookerIdAndStatusEqualsOrderByStartDesc(
                         eq(user.getId()), eq(Status.REJECTED), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserNotExistsShouldThrow() {
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class,
                 () -> subject.getAllByOwnerIdOrderByStartDesc(
                         user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT));
 
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsAll() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInOrderByStartDesc(itemIds, pageable))
-                .thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdOrderByStartDesc(user.getId(), pageable))
+                .thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.ALL, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
         verify(bookingRepository, times(1))
-                .findByItemIdInOrderByStartDesc(itemIds, pageable);
-        verifyNoMoreInteractions(userRepository);
+                .findByOwnerIdOrderByStartDesc(user.getId(), pageable);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -268,31 +283,23 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsCurrent() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-                eq(itemIds), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+                eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable))
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.CURRENT, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
-        verify(bookingRepository, times(1))
-                .findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-                        eq(itemIds), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verify(bookingRepository, times(1))
+                .findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
+                        eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -300,31 +307,23 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsPast() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-                eq(itemIds), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                eq(user.getId()), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable))
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.PAST, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
-        verify(bookingRepository, times(1))
-                .findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-                        eq(itemIds), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verify(bookingRepository, times(1))
+                .findByOwnerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
+                        eq(user.getId()), any(LocalDateTime.class), eq(Status.APPROVED), eq(pageable));
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -332,31 +331,23 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsFuture() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInAndStartIsAfterOrderByStartDesc(
-                eq(itemIds), any(LocalDateTime.class), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdAndStartIsAfterOrderByStartDesc(
+                eq(user.getId()), any(LocalDateTime.class), eq(pageable))
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.FUTURE, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
-        verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfterOrderByStartDesc(
-                        eq(itemIds), any(LocalDateTime.class), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verify(bookingRepository, times(1))
+                .findByOwnerIdAndStartIsAfterOrderByStartDesc(
+                        eq(user.getId()), any(LocalDateTime.class), eq(pageable));
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -364,31 +355,23 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsWaiting() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                eq(itemIds), eq(Status.WAITING), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                eq(user.getId()), eq(Status.WAITING), eq(pageable))
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.WAITING, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
-        verify(bookingRepository, times(1))
-                .findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        eq(itemIds), eq(Status.WAITING), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verify(bookingRepository, times(1))
+                .findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                        eq(user.getId()), eq(Status.WAITING), eq(pageable));
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -396,31 +379,23 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerIdOrderByStartDescWhenUserExistsAndStateIsRejected() {
         List<Booking> bookings = generateBookings(PAGE_SIZE_DEFAULT);
-        List<Item> items = generateItems(PAGE_SIZE_DEFAULT);
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE))
-        ).thenReturn(new PageImpl<>(items));
-        when(bookingRepository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                eq(itemIds), eq(Status.REJECTED), eq(pageable))
-        ).thenReturn(new PageImpl<>(bookings));
+        when(bookingRepository.findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                eq(user.getId()), eq(Status.REJECTED), eq(pageable))
+        ).thenReturn(new SliceImpl<>(bookings));
 
-        Page<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
+        Slice<Booking> result = subject.getAllByOwnerIdOrderByStartDesc(
                 user.getId(), State.REJECTED, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(bookings, result.toList());
-        verify(userRepository, times(1))
-                .findById(user.getId());
-        verify(itemRepository, times(1)).getAllByOwnerIdOrderByIdAsc(
-                user.getId(), PageRequest.of(PAGE_START_FROM, Integer.MAX_VALUE));
-        verify(bookingRepository, times(1))
-                .findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        eq(itemIds), eq(Status.REJECTED), eq(pageable));
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1))
+                .check(user.getId());
+        verify(bookingRepository, times(1))
+                .findByOwnerIdAndStatusEqualsOrderByStartDesc(
+                        eq(user.getId()), eq(Status.REJECTED), eq(pageable));
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRepository);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -483,66 +458,120 @@ class BookingServiceImplTest {
     @Test
     void getLastBookingByItemId() {
         Item item = getDefaultItem();
-        Booking booking = getDefaultBooking();
         Booking lastBooking = getDefaultBooking();
-        lastBooking.setEnd(booking.getEnd().plusDays(1));
-        when(bookingRepository.findByItemIdAndStatusEquals(item.getId(), Status.APPROVED))
-                .thenReturn(List.of(lastBooking, booking));
+        when(bookingRepository.findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+                eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class))
+        ).thenReturn(Optional.of(lastBooking));
 
         Booking result = subject.getLastBookingByItemId(item.getId(), Status.APPROVED);
 
         assertEquals(lastBooking, result);
         verify(bookingRepository, times(1))
-                .findByItemIdAndStatusEquals(item.getId(), Status.APPROVED);
+                .findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+                        eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class));
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     void getLastBookingByItemIdWhenEmptyBookings() {
         Item item = getDefaultItem();
-        when(bookingRepository.findByItemIdAndStatusEquals(item.getId(), Status.APPROVED))
-                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+                eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class))
+        ).thenReturn(Optional.empty());
 
         Booking result = subject.getLastBookingByItemId(item.getId(), Status.APPROVED);
 
         assertNull(result);
         verify(bookingRepository, times(1))
-                .findByItemIdAndStatusEquals(item.getId(), Status.APPROVED);
+                .findFirstByItemIdAndStatusEqualsAndEndIsBeforeOrderByEndDesc(
+                        eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class));
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     void getNextBookingByItemId() {
         Item item = getDefaultItem();
-        Booking booking = getDefaultBooking();
         Booking nextBooking = getDefaultBooking();
         nextBooking.setStart(LocalDateTime.now().plusDays(1));
         nextBooking.setEnd(nextBooking.getStart().plusDays(1));
-        when(bookingRepository.findByItemIdAndStatusEquals(item.getId(), Status.APPROVED))
-                .thenReturn(List.of(nextBooking, booking));
+        when(bookingRepository.findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+                eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class))
+        ).thenReturn(Optional.of(nextBooking));
 
         Booking result = subject.getNextBookingByItemId(item.getId(), Status.APPROVED);
 
         assertEquals(nextBooking, result);
         verify(bookingRepository, times(1))
-                .findByItemIdAndStatusEquals(item.getId(), Status.APPROVED);
+                .findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+                        eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class));
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     void getNextBookingByItemIdWhenEmptyBookings() {
         Item item = getDefaultItem();
-        when(bookingRepository.findByItemIdAndStatusEquals(item.getId(), Status.APPROVED))
-                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+                eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class))
+        ).thenReturn(Optional.empty());
 
         Booking result = subject.getNextBookingByItemId(item.getId(), Status.APPROVED);
 
         assertNull(result);
         verify(bookingRepository, times(1))
-                .findByItemIdAndStatusEquals(item.getId(), Status.APPROVED);
+                .findFirstByItemIdAndStatusEqualsAndStartIsAfterOrderByStartAsc(
+                        eq(item.getId()), eq(Status.APPROVED), any(LocalDateTime.class));
         verifyNoMoreInteractions(bookingRepository);
     }
 
+    @Test
+    void getLastAndNextBookingsByItemIds() {
+        Booking lastBooking = getDefaultBooking();
+        Booking nextBooking = getDefaultBooking().toBuilder()
+                .id(2L)
+                .itemId(2L)
+                .build();
+        Set<Long> itemIds = Set.of(1L, 2L);
+        when(bookingRepository.findLastByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(nextBooking));
+
+        Map<Long, Booking> last = subject.getLastBookingsByItemIds(itemIds, Status.APPROVED);
+        Map<Long, Booking> next = subject.getNextBookingsByItemIds(itemIds, Status.APPROVED);
+
+        assertEquals(Map.of(1L, lastBooking), last);
+        assertEquals(Map.of(2L, nextBooking), next);
+        verify(bookingRepository, times(1))
+                .findLastByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1))
+                .findNextByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void getLastAndNextBookingsByItemIdsWhenEmptyBookings() {
+        Set<Long> itemIds = Set.of(1L, 2L);
+        when(bookingRepository.findLastByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(subject.getLastBookingsByItemIds(itemIds, Status.APPROVED).isEmpty());
+        assertTrue(subject.getNextBookingsByItemIds(itemIds, Status.APPROVED).isEmpty());
+        verify(bookingRepository, times(1))
+                .findLastByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1))
+                .findNextByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void getLastAndNextBookingsByItemIdsWhenNoItemsShouldNotQuery() {
+        assertTrue(subject.getLastBookingsByItemIds(Collections.emptySet(), Status.APPROVED).isEmpty());
+        assertTrue(subject.getNextBookingsByItemIds(Collections.emptySet(), Status.APPROVED).isEmpty());
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void addWhenBookingIsValidAndUserExists() {
         LocalDateTime now = LocalDateTime.now();
@@ -561,8 +590,7 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
-        when(userRepository.findById(booking.getBookerId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(booking)).thenReturn(booking);
 
         Booking result = subject.add(booking);
@@ -571,15 +599,52 @@ class BookingServiceImplTest {
         assertEquals(booking.getStatus(), Status.WAITING);
         assertTrue(item.getAvailable());
         assertNotEquals(booking.getBookerId(), item.getOwnerId());
+        verify(bookingRepository, times(1))
+                .existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                        item.getId(), Set.of(Status.WAITING, Status.APPROVED), booking.getEnd(), booking.getStart());
         verify(bookingRepository, times(1))
                 .save(booking);
         verify(itemRepository, times(1))
-                .findById(item.getId());
-        verify(userRepository, times(1))
-                .findById(booker.getId());
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(booker.getId());
+        verifyNoMoreInteractions(bookingRepository);
+        verifyNoMoreInteractions(itemRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
+    }
+
+    @Test
+    void addWhenBookingOverlapsExistingShouldThrow() {
+        LocalDateTime now = LocalDateTime.now();
+        Long bookerId = 123L;
+        Long ownerId = 456L;
+        Item item = getDefaultItem().toBuilder()
+                .ownerId(ownerId)
+                .build();
+        Booking booking = getDefaultBooking().toBuilder()
+                .status(null)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .bookerId(bookerId)
+                .build();
+
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                item.getId(), Set.of(Status.WAITING, Status.APPROVED), booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> subject.add(booking));
+
+        verify(itemRepository, times(1))
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(bookerId);
+        verify(bookingRepository, times(1))
+                .existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                        item.getId(), Set.of(Status.WAITING, Status.APPROVED), booking.getEnd(), booking.getStart());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -595,17 +660,17 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> subject.add(booking));
         assertFalse(item.getAvailable());
         assertNotEquals(booking.getBookerId(), item.getOwnerId());
 
         verify(itemRepository, times(1))
-                .findById(item.getId());
+                .findByIdForUpdate(item.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -624,19 +689,18 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(NotFoundException.class, () -> subject.add(booking));
         assertEquals(booking.getBookerId(), item.getOwnerId());
 
         verify(itemRepository, times(1))
-                .findById(item.getId());
-        verify(userRepository, times(1))
-                .findById(booker.getId());
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(booker.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -656,19 +720,18 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> subject.add(booking));
         assertNotEquals(booking.getBookerId(), item.getOwnerId());
 
         verify(itemRepository, times(1))
-                .findById(item.getId());
-        verify(userRepository, times(1))
-                .findById(booker.getId());
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(booker.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -688,19 +751,18 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> subject.add(booking));
         assertNotEquals(booking.getBookerId(), item.getOwnerId());
 
         verify(itemRepository, times(1))
-                .findById(item.getId());
-        verify(userRepository, times(1))
-                .findById(booker.getId());
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(booker.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -720,85 +782,68 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(booking.getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> subject.add(booking));
         assertNotEquals(booking.getBookerId(), item.getOwnerId());
 
         verify(itemRepository, times(1))
-                .findById(item.getId());
-        verify(userRepository, times(1))
-                .findById(booker.getId());
+                .findByIdForUpdate(item.getId());
+        verify(userExistenceChecker, times(1))
+                .check(booker.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
     void updateStatusWhenOwnerIsApprovingAndStatusIsWaitingShouldBecomeApproved() {
         Long bookerId = 123L;
         Long ownerId = 456L;
-        Item item = getDefaultItem().toBuilder()
-                .ownerId(ownerId)
-                .build();
-        Booking booking = getDefaultBooking().toBuilder()
-                .status(Status.WAITING)
-                .bookerId(bookerId)
-                .build();
-        Booking approvedBooking = booking.toBuilder()
+        Booking approvedBooking = getDefaultBooking().toBuilder()
                 .status(Status.APPROVED)
+                .bookerId(bookerId)
                 .build();
 
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(approvedBooking.getId(), ownerId, Status.APPROVED))
+                .thenReturn(1);
+        when(bookingRepository.findById(approvedBooking.getId())).thenReturn(Optional.of(approvedBooking));
 
-        Booking result = subject.updateStatus(booking.getId(), ownerId, true);
+        Booking result = subject.updateStatus(approvedBooking.getId(), ownerId, true);
 
         assertEquals(approvedBooking, result);
         verify(bookingRepository, times(1))
-                .save(booking);
+                .updateStatusIfWaiting(approvedBooking.getId(), ownerId, Status.APPROVED);
         verify(bookingRepository, times(1))
-                .findById(item.getId());
-        verify(itemRepository, times(2))
-                .findById(item.getId());
+                .findById(approvedBooking.getId());
         verifyNoMoreInteractions(bookingRepository);
-        verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(itemRepository);
+        verifyNoInteractions(userExistenceChecker);
     }
 
     @Test
     void updateStatusWhenOwnerIsRejectingAndStatusIsWaitingShouldBecomeRejected() {
         Long bookerId = 123L;
         Long ownerId = 456L;
-        Item item = getDefaultItem().toBuilder()
-                .ownerId(ownerId)
-                .build();
-        Booking booking = getDefaultBooking().toBuilder()
-                .status(Status.WAITING)
-                .bookerId(bookerId)
-                .build();
-        Booking rejectedBooking = booking.toBuilder()
+        Booking rejectedBooking = getDefaultBooking().toBuilder()
                 .status(Status.REJECTED)
+                .bookerId(bookerId)
                 .build();
 
-        when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(rejectedBooking.getId(), ownerId, Status.REJECTED))
+                .thenReturn(1);
+        when(bookingRepository.findById(rejectedBooking.getId())).thenReturn(Optional.of(rejectedBooking));
 
-        Booking result = subject.updateStatus(booking.getId(), ownerId, false);
+        Booking result = subject.updateStatus(rejectedBooking.getId(), ownerId, false);
 
         assertEquals(rejectedBooking, result);
         verify(bookingRepository, times(1))
-                .save(booking);
+                .updateStatusIfWaiting(rejectedBooking.getId(), ownerId, Status.REJECTED);
         verify(bookingRepository, times(1))
-                .findById(item.getId());
-        verify(itemRepository, times(2))
-                .findById(item.getId());
+                .findById(rejectedBooking.getId());
         verifyNoMoreInteractions(bookingRepository);
-        verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(itemRepository);
+        verifyNoInteractions(userExistenceChecker);
     }
 
     @Test
@@ -813,6 +858,7 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), ownerId, Status.APPROVED)).thenReturn(0);
         when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
@@ -820,12 +866,14 @@ class BookingServiceImplTest {
                 () -> subject.updateStatus(booking.getId(), ownerId, true));
 
         verify(bookingRepository, times(1))
-                .findById(item.getId());
-        verify(itemRepository, times(2))
+                .updateStatusIfWaiting(booking.getId(), ownerId, Status.APPROVED);
+        verify(bookingRepository, times(1))
+                .findById(booking.getId());
+        verify(itemRepository, times(1))
                 .findById(item.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
     }
 
     @Test
@@ -840,6 +888,7 @@ class BookingServiceImplTest {
                 .bookerId(bookerId)
                 .build();
 
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), bookerId, Status.APPROVED)).thenReturn(0);
         when(itemRepository.findById(booking.getItemId())).thenReturn(Optional.of(item));
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
@@ -847,11 +896,33 @@ class BookingServiceImplTest {
                 () -> subject.updateStatus(booking.getId(), bookerId, true));
 
         verify(bookingRepository, times(1))
-                .findById(item.getId());
-        verify(itemRepository, times(2))
+                .updateStatusIfWaiting(booking.getId(), bookerId, Status.APPROVED);
+        verify(bookingRepository, times(1))
+                .findById(booking.getId());
+        verify(itemRepository, times(1))
                 .findById(item.getId());
         verifyNoMoreInteractions(bookingRepository);
         verifyNoMoreInteractions(itemRepository);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
+    }
+
+    @Test
+    void updateStatusWhenBookingDoesNotExistShouldThrowNotFoundException() {
+        Long ownerId = 456L;
+        Long bookingId = 999L;
+
+        when(bookingRepository.updateStatusIfWaiting(bookingId, ownerId, Status.APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> subject.updateStatus(bookingId, ownerId, true));
+
+        verify(bookingRepository, times(1))
+                .updateStatusIfWaiting(bookingId, ownerId, Status.APPROVED);
+        verify(bookingRepository, times(1))
+                .findById(bookingId);
+        verifyNoMoreInteractions(bookingRepository);
+        verifyNoInteractions(itemRepository);
+        verifyNoInteractions(userExistenceChecker);
     }
 }
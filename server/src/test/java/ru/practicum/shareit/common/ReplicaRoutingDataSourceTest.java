@@ -0,0 +1,83 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(node("primary"), List.of(node("replica-a"), node("replica-b")))));
+    private final TransactionTemplate readOnly = transactionTemplate(true);
+    private final TransactionTemplate readWrite = transactionTemplate(false);
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.stop();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplicasRoundRobin() {
+        List<String> nodes = List.of(
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()));
+
+        assertEquals(List.of("replica-a", "replica-b", "replica-a"), nodes);
+    }
+
+    @Test
+    void testReadWriteTransactionsAndPlainStatementsGoToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void testPinnedThreadReadsFromPrimary() {
+        ReplicaRoutingDataSource.start(true);
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testReadWriteTransactionIsRemembered() {
+        ReplicaRoutingDataSource.start(false);
+        readOnly.execute(status -> currentNode());
+        assertFalse(ReplicaRoutingDataSource.stop());
+
+        ReplicaRoutingDataSource.start(false);
+        readWrite.execute(status -> currentNode());
+        assertTrue(ReplicaRoutingDataSource.stop());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private TransactionTemplate transactionTemplate(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate node = new JdbcTemplate(dataSource);
+        node.execute("create table if not exists node (name varchar(20))");
+        node.update("delete from node");
+        node.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementBudgetFilterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void testStatementsAreRecordedWithEndpointTags() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(meterRegistry, 5, true);
+
+        assertDoesNotThrow(() -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3)));
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementBudgetFilter.METRIC)
+                .tags("method", "GET", "uri", "/items/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    void testOverBudgetFailsWhenConfigured() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(meterRegistry, 2, true);
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3)));
+    }
+
+    @Test
+    void testOverBudgetOnlyWarnsByDefault() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(meterRegistry, 2, false);
+
+        assertDoesNotThrow(() -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3)));
+    }
+
+    @Test
+    void testStatementsOutsideOfRequestAreNotCounted() {
+        counter.inspect("select 1");
+
+        SqlStatementCounter.start();
+        counter.inspect("select 1");
+
+        assertEquals(1, SqlStatementCounter.stop());
+        assertEquals(0, SqlStatementCounter.stop());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{id}");
+        return request;
+    }
+
+    private FilterChain runStatements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                counter.inspect("select 1");
+            }
+        };
+    }
+}
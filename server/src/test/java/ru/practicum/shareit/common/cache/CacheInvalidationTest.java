@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheInvalidationTest {
+
+    @Test
+    void testEncodeAndParseKey() {
+        CacheInvalidation invalidation = CacheInvalidation.of("items", 42L);
+
+        assertEquals("items:42", invalidation.encode());
+        assertEquals(invalidation, CacheInvalidation.parse(invalidation.encode()));
+    }
+
+    @Test
+    void testEncodeAndParseAllEntries() {
+        CacheInvalidation invalidation = CacheInvalidation.allEntries("items");
+
+        assertEquals("items:*", invalidation.encode());
+        assertEquals(invalidation, CacheInvalidation.parse(invalidation.encode()));
+    }
+
+    @Test
+    void testParseInvalidPayload() {
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.parse("items"));
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.parse("items:x"));
+    }
+}
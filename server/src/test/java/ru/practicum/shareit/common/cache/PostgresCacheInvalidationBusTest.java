@@ -0,0 +1,105 @@
+package ru.practicum.shareit.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGNotification;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresCacheInvalidationBusTest {
+    private static final String UNREACHABLE_URL = "jdbc:postgresql://localhost:1/shareit";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("users", "items");
+    private final PostgresCacheInvalidationBus bus =
+            new PostgresCacheInvalidationBus(jdbcTemplate, cacheManager, UNREACHABLE_URL, "test", "test");
+
+    @BeforeEach
+    void beforeEach() {
+        cacheManager.getCache("users").put(1L, "user-1");
+        cacheManager.getCache("items").put(1L, "item-1");
+        cacheManager.getCache("items").put(2L, "item-2");
+    }
+
+    @Test
+    void testHandleEvictsKey() {
+        bus.handle(new PGNotification[]{notification("items:1")});
+
+        assertNull(cacheManager.getCache("items").get(1L));
+        assertNotNull(cacheManager.getCache("items").get(2L));
+        assertNotNull(cacheManager.getCache("users").get(1L));
+    }
+
+    @Test
+    void testHandleEvictsAllEntries() {
+        bus.handle(new PGNotification[]{notification("items:*")});
+
+        assertNull(cacheManager.getCache("items").get(1L));
+        assertNull(cacheManager.getCache("items").get(2L));
+        assertNotNull(cacheManager.getCache("users").get(1L));
+    }
+
+    @Test
+    void testHandleSkipsMalformedPayload() {
+        bus.handle(new PGNotification[]{notification("items"), notification("users:1")});
+
+        assertNotNull(cacheManager.getCache("items").get(1L));
+        assertNull(cacheManager.getCache("users").get(1L));
+    }
+
+    @Test
+    void testHandleWithoutNotifications() {
+        bus.handle(null);
+
+        assertNotNull(cacheManager.getCache("items").get(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublishNotifiesChannel() throws Exception {
+        bus.publish(CacheInvalidation.of("items", 1L));
+
+        ArgumentCaptor<PreparedStatementCallback<Boolean>> callback =
+                ArgumentCaptor.forClass(PreparedStatementCallback.class);
+        verify(jdbcTemplate).execute(eq("select pg_notify(?, ?)"), callback.capture());
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        callback.getValue().doInPreparedStatement(statement);
+        verify(statement).setString(1, "shareit_cache_invalidation");
+        verify(statement).setString(2, "items:1");
+        verify(statement).execute();
+    }
+
+    @Test
+    void testStopInterruptsReconnectDelay() throws InterruptedException {
+        bus.start();
+        assertTrue(bus.isRunning());
+        // the unreachable database refuses at once and the listener waits to reconnect
+        Thread.sleep(200);
+
+        assertTimeout(Duration.ofMillis(1500), () -> bus.stop());
+        assertFalse(bus.isRunning());
+    }
+
+    private static PGNotification notification(String payload) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
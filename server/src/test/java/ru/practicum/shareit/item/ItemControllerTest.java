@@ -13,14 +13,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingService;
-import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.common.ETagConfig;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -32,23 +34,30 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.booking.BookingTestUtils.getDefaultBooking;
 import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
 import static ru.practicum.shareit.item.CommentTestUtils.getDefaultComment;
 import static ru.practicum.shareit.item.ItemTestUtils.generateItems;
@@ -58,6 +67,7 @@ import static ru.practicum.shareit.user.UserTestUtils.getDefaultUser;
 import static ru.practicum.shareit.utils.JsonTestUtils.configJsonProvider;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(ETagConfig.class)
 @ExtendWith(MockitoExtension.class)
 class ItemControllerTest {
 
@@ -104,13 +114,13 @@ class ItemControllerTest {
         Item item = items.get(0);
 
         when(itemService.getAllByOwnerIdOrderByIdAsc(USER_ID, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
-                .thenReturn(new PageImpl<>(items));
-        when(bookingService.getNextBookingByItemId(item.getId(), Status.APPROVED))
-                .thenReturn(null);
-        when(bookingService.getLastBookingByItemId(item.getId(), Status.APPROVED))
-                .thenReturn(null);
+                .thenReturn(new SliceImpl<>(items));
+        when(bookingService.getNextBookingsByItemIds(Set.of(item.getId()), Status.APPROVED))
+                .thenReturn(Collections.emptyMap());
+        when(bookingService.getLastBookingsByItemIds(Set.of(item.getId()), Status.APPROVED))
+                .thenReturn(Collections.emptyMap());
 
-        when(itemService.getAllCommentsByItemIdOrderByIdAsc(item.getId()))
+        when(itemService.getAllCommentsByItemIdInOrderByIdAsc(Set.of(item.getId())))
                 .thenReturn(new ArrayList<>());
 
         MvcResult result = mockMvc.perform(get(ITEMS_ENDPOINT)
@@ -131,11 +141,11 @@ class ItemControllerTest {
         List<Item> items = generateItems(5);
         int numberOfChunks = (int) Math.ceil(5f / PAGE_SIZE_CUSTOM);
 
-        when(bookingService.getNextBookingByItemId(anyLong(), eq(Status.APPROVED)))
-                .thenReturn(null);
-        when(bookingService.getLastBookingByItemId(anyLong(), eq(Status.APPROVED)))
-                .thenReturn(null);
-        when(itemService.getAllCommentsByItemIdOrderByIdAsc(anyLong()))
+        when(bookingService.getNextBookingsByItemIds(anySet(), eq(Status.APPROVED)))
+                .thenReturn(Collections.emptyMap());
+        when(bookingService.getLastBookingsByItemIds(anySet(), eq(Status.APPROVED)))
+                .thenReturn(Collections.emptyMap());
+        when(itemService.getAllCommentsByItemIdInOrderByIdAsc(anySet()))
                 .thenReturn(new ArrayList<>());
 
         for (int i = 0; i < numberOfChunks; i++) {
@@ -144,7 +154,7 @@ class ItemControllerTest {
 
             List<Item> slice = items.subList(startIndex, endIndex);
             when(itemService.getAllByOwnerIdOrderByIdAsc(USER_ID, startIndex, PAGE_SIZE_CUSTOM))
-                    .thenReturn(new PageImpl<>(slice));
+                    .thenReturn(new SliceImpl<>(slice));
 
             MvcResult result = mockMvc.perform(get(ITEMS_ENDPOINT)
                             .header(USER_ID_HEADER, USER_ID)
@@ -165,6 +175,47 @@ class ItemControllerTest {
         }
     }
 
+    @Test
+    void testGetAllLoadsBookingsAndCommentsInBulk() throws Exception {
+        List<Item> items = generateItems(3);
+        Set<Long> itemIds = Set.of(1L, 2L, 3L);
+        User author = getDefaultUser().toBuilder()
+                .id(42L)
+                .name("author")
+                .build();
+        Booking lastBooking = getDefaultBooking();
+        Comment comment = new Comment(7L, "comment", 2L, author.getId(), null);
+
+        when(itemService.getAllByOwnerIdOrderByIdAsc(USER_ID, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(items));
+        when(bookingService.getNextBookingsByItemIds(itemIds, Status.APPROVED))
+                .thenReturn(Collections.emptyMap());
+        when(bookingService.getLastBookingsByItemIds(itemIds, Status.APPROVED))
+                .thenReturn(Map.of(1L, lastBooking));
+        when(itemService.getAllCommentsByItemIdInOrderByIdAsc(itemIds))
+                .thenReturn(List.of(comment));
+        when(userService.getAllByIds(Set.of(author.getId())))
+                .thenReturn(List.of(author));
+
+        mockMvc.perform(get(ITEMS_ENDPOINT)
+                        .header(USER_ID_HEADER, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(items.size())))
+                .andExpect(jsonPath("$[0].lastBooking.id", is(lastBooking.getId())))
+                .andExpect(jsonPath("$[0].comments", hasSize(0)))
+                .andExpect(jsonPath("$[1].comments", hasSize(1)))
+                .andExpect(jsonPath("$[1].comments[0].id", is(comment.getId())))
+                .andExpect(jsonPath("$[1].comments[0].authorName", is(author.getName())))
+                .andExpect(jsonPath("$[2].comments", hasSize(0)));
+
+        verify(bookingService, times(1)).getNextBookingsByItemIds(itemIds, Status.APPROVED);
+        verify(bookingService, times(1)).getLastBookingsByItemIds(itemIds, Status.APPROVED);
+        verify(itemService, times(1)).getAllCommentsByItemIdInOrderByIdAsc(itemIds);
+        verify(userService, times(1)).getAllByIds(Set.of(author.getId()));
+        verifyNoMoreInteractions(bookingService);
+        verifyNoMoreInteractions(userService);
+    }
+
     @Test
     void getByIdTest() throws Exception {
         Item item = getDefaultItem();
@@ -176,7 +227,7 @@ class ItemControllerTest {
         when(bookingService.getLastBookingByItemId(item.getId(), Status.APPROVED))
                 .thenReturn(null);
 
-        when(itemService.getAllCommentsByItemIdOrderByIdAsc(item.getId()))
+        when(itemService.getAllCommentsByItemIdInOrderByIdAsc(Set.of(item.getId())))
                 .thenReturn(new ArrayList<>());
 
         mockMvc.perform(get(ITEMS_ENDPOINT + item.getId())
@@ -211,6 +262,40 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId", is(itemDto.getRequestId())));
     }
 
+    @Test
+    void testCreateAll() throws Exception {
+        List<Item> items = ItemTestUtils.generateItems(2);
+        List<ItemDto> itemDtos = List.of(ItemMapper.toItemDto(items.get(0)), ItemMapper.toItemDto(items.get(1)));
+
+        when(itemService.addAll(ArgumentMatchers.anyList())).thenReturn(items);
+
+        mockMvc.perform(post(ITEMS_ENDPOINT + "batch")
+                        .header(USER_ID_HEADER, USER_ID)
+                        .content(mapper.writeValueAsString(itemDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is(itemDtos.get(0).getName())))
+                .andExpect(jsonPath("$[1].name", is(itemDtos.get(1).getName())));
+    }
+
+    @Test
+    void testCreateAllWithInvalidItemShouldFail() throws Exception {
+        ItemDto invalid = ItemMapper.toItemDto(getDefaultItem());
+        invalid.setName(" ");
+
+        mockMvc.perform(post(ITEMS_ENDPOINT + "batch")
+                        .header(USER_ID_HEADER, USER_ID)
+                        .content(mapper.writeValueAsString(List.of(invalid)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemService);
+    }
+
     @Test
     void testDelete() throws Exception {
         mockMvc.perform(delete(ITEMS_ENDPOINT + "123")
@@ -252,7 +337,7 @@ class ItemControllerTest {
         item.setDescription("CustomDescription");
 
         when(itemService.search("test", PAGE_START_FROM, PAGE_SIZE_DEFAULT))
-                .thenReturn(new PageImpl<>(List.of(item)));
+                .thenReturn(new SliceImpl<>(List.of(item)));
 
         MvcResult result = mockMvc.perform(get(ITEMS_ENDPOINT + "search")
                         .header(USER_ID_HEADER, USER_ID)
@@ -268,18 +353,50 @@ class ItemControllerTest {
                 .search("test", PAGE_START_FROM, PAGE_SIZE_DEFAULT);
     }
 
+    @Test
+    void testSearchReturnsETagOfBody() throws Exception {
+        when(itemService.search("test", PAGE_START_FROM, PAGE_SIZE_DEFAULT))
+                .thenReturn(new SliceImpl<>(generateItems(2)));
+
+        String eTag = mockMvc.perform(get(ITEMS_ENDPOINT + "search")
+                        .param("text", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(ITEMS_ENDPOINT + "search")
+                        .param("text", "test")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testCreateReturnsNoETag() throws Exception {
+        Item item = getDefaultItem();
+
+        when(itemService.add(ArgumentMatchers.any(Item.class))).thenReturn(item);
+
+        mockMvc.perform(post(ITEMS_ENDPOINT)
+                        .header(USER_ID_HEADER, USER_ID)
+                        .content(mapper.writeValueAsString(ItemMapper.toItemDto(item)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     void testAddComment() throws Exception {
         Item item = getDefaultItem();
         User author = getDefaultUser();
-        List<Booking> authorBookings = Collections.emptyList();
         Comment comment = getDefaultComment();
         CommentRequestDto commentRequestDto = new CommentRequestDto(comment.getText());
 
         when(userService.getById(USER_ID)).thenReturn(author);
-        when(bookingService.getAllByUserIdOrderByStartDesc(USER_ID, State.PAST, 0, Integer.MAX_VALUE))
-                .thenReturn(new PageImpl<>(authorBookings));
-        when(itemService.addComment(any(Comment.class), eq(authorBookings))).thenReturn(comment);
+        when(itemService.addComment(any(Comment.class))).thenReturn(comment);
 
         MvcResult result = mockMvc.perform(post(ITEMS_ENDPOINT + item.getId() + "/comment")
                         .header(USER_ID_HEADER, USER_ID)
@@ -297,7 +414,7 @@ class ItemControllerTest {
         assertThat(JsonPath.read(response, "$.created"), is(nullValue()));
 
         verify(userService, times(1)).getById(USER_ID);
-        verify(bookingService, times(1))
-                .getAllByUserIdOrderByStartDesc(USER_ID, State.PAST, 0, Integer.MAX_VALUE);
+        verify(itemService, times(1)).addComment(any(Comment.class));
+        verifyNoInteractions(bookingService);
     }
 }
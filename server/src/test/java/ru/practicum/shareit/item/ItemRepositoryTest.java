@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +14,13 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DataJpaTest
@@ -24,6 +31,8 @@ public class ItemRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     private final Pageable pageable = PageRequest.of(0, 10);
 
@@ -97,4 +106,25 @@ public class ItemRepositoryTest {
 
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testSaveAllSendsInsertsInBatches() {
+        em.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Item> items = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> new Item(null, "Предмет" + i, "Описание" + i, true, owner.getId(), null))
+                .collect(Collectors.toList());
+
+        try {
+            itemRepository.saveAll(items);
+            em.flush();
+
+            assertEquals(120, statistics.getEntityInsertCount());
+            assertThat(statistics.getPrepareStatementCount(), lessThan(10L));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 }
@@ -5,22 +5,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.common.ShareItConstants;
+import ru.practicum.shareit.common.cache.CacheInvalidation;
+import ru.practicum.shareit.common.cache.CacheInvalidationBus;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -28,10 +35,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
-import static ru.practicum.shareit.booking.BookingTestUtils.getDefaultBooking;
 import static ru.practicum.shareit.item.CommentTestUtils.generateComments;
 import static ru.practicum.shareit.item.CommentTestUtils.getDefaultComment;
 import static ru.practicum.shareit.item.ItemTestUtils.generateItems;
@@ -48,9 +56,15 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
 
     @InjectMocks
     private ItemServiceImpl subject;
@@ -85,31 +99,62 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(ITEM_ID);
     }
 
+    @Test
+    void testGetAllByRequestIdIn() {
+        List<Item> items = generateItems(3);
+        Set<Long> requestIds = Set.of(1L, 2L);
+        when(itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds)).thenReturn(items);
+
+        List<Item> result = subject.getAllByRequestIdInOrderByIdAsc(requestIds);
+
+        assertEquals(items, result);
+        verify(itemRepository, times(1)).findAllByRequestIdInOrderByIdAsc(requestIds);
+    }
+
+    @Test
+    void testGetAllByRequestIdInWhenEmptySkipsQuery() {
+        List<Item> result = subject.getAllByRequestIdInOrderByIdAsc(Set.of());
+
+        assertEquals(Collections.emptyList(), result);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void testGetAllByIds() {
+        List<Item> items = generateItems(3);
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        when(itemRepository.findAllById(ids)).thenReturn(items);
+
+        List<Item> result = subject.getAllByIds(ids);
+
+        assertEquals(items, result);
+        verify(itemRepository, times(1)).findAllById(ids);
+    }
+
     @Test
     void testGetAllByOwnerIdWhenUserExistsShouldReturn() {
         List<Item> items = generateItems(PAGE_SIZE);
         User owner = getDefaultUser();
         Pageable pageable = PageRequest.of(0, PAGE_SIZE);
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
         when(itemRepository.getAllByOwnerIdOrderByIdAsc(eq(USER_ID), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(items));
+                .thenReturn(new SliceImpl<>(items));
 
-        Page<Item> result = subject.getAllByOwnerIdOrderByIdAsc(USER_ID, 0, PAGE_SIZE);
+        Slice<Item> result = subject.getAllByOwnerIdOrderByIdAsc(USER_ID, 0, PAGE_SIZE);
 
         assertEquals(result.toList(), items);
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceChecker, times(1)).check(USER_ID);
         verify(itemRepository, times(1))
                 .getAllByOwnerIdOrderByIdAsc(eq(USER_ID), eq(pageable));
     }
 
     @Test
     void testGetAllByOwnerIdWhenUserExistsShouldThrow() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(USER_ID);
 
         assertThrows(NotFoundException.class,
                 () -> subject.getAllByOwnerIdOrderByIdAsc(USER_ID, 0, PAGE_SIZE));
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceChecker, times(1)).check(USER_ID);
     }
 
     @Test
@@ -125,6 +170,28 @@ class ItemServiceImplTest {
                 .getAllByItemIdOrderByIdAsc(ITEM_ID);
     }
 
+    @Test
+    void testGetAllCommentsByItemIds() {
+        List<Comment> comments = generateComments(10);
+        Set<Long> itemIds = Set.of(ITEM_ID);
+        when(commentRepository.getAllByItemIdInOrderByIdAsc(itemIds))
+                .thenReturn(comments);
+
+        List<Comment> result = subject.getAllCommentsByItemIdInOrderByIdAsc(itemIds);
+
+        assertEquals(result, comments);
+        verify(commentRepository, times(1))
+                .getAllByItemIdInOrderByIdAsc(itemIds);
+    }
+
+    @Test
+    void testGetAllCommentsByEmptyItemIdsShouldNotQuery() {
+        List<Comment> result = subject.getAllCommentsByItemIdInOrderByIdAsc(Collections.emptySet());
+
+        assertEquals(result, Collections.emptyList());
+        verify(commentRepository, times(0)).getAllByItemIdInOrderByIdAsc(any());
+    }
+
     @Test
     void testGetAllByRequestId() {
         List<Item> items = generateItems(10);
@@ -141,23 +208,47 @@ class ItemServiceImplTest {
     void testAddWhenUserExists() {
         Item item = getDefaultItem();
         User owner = getDefaultUser();
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
         when(itemRepository.save(item)).thenReturn(item);
 
         Item result = subject.add(item);
 
         assertEquals(result, item);
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceChecker, times(1)).check(USER_ID);
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchEngine, times(1)).onSaved(item);
+    }
+
+    @Test
+    void testAddAllChecksEveryOwnerOnce() {
+        List<Item> items = generateItems(3);
+        items.get(2).setOwnerId(USER_ID + 1);
+        when(itemRepository.saveAll(items)).thenReturn(items);
+
+        List<Item> result = subject.addAll(items);
+
+        assertEquals(items, result);
+        verify(userExistenceChecker, times(1)).check(USER_ID);
+        verify(userExistenceChecker, times(1)).check(USER_ID + 1);
+        verify(itemRepository, times(1)).saveAll(items);
+        verify(itemSearchEngine, times(3)).onSaved(any(Item.class));
+    }
+
+    @Test
+    void testAddAllWhenUserNotExistsShouldThrow() {
+        List<Item> items = generateItems(3);
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(USER_ID);
+
+        assertThrows(NotFoundException.class, () -> subject.addAll(items));
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void testAddWhenUserNotExistsShouldThrow() {
         Item item = getDefaultItem();
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(USER_ID);
 
         assertThrows(NotFoundException.class, () -> subject.add(item));
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceChecker, times(1)).check(USER_ID);
     }
 
     @Test
@@ -175,6 +266,7 @@ class ItemServiceImplTest {
 
         assertThrows(ForbiddenException.class, () -> subject.update(updatedItem));
         verify(itemRepository, times(1)).findById(ITEM_ID);
+        verifyNoInteractions(cacheInvalidationBus);
     }
 
     @Test
@@ -194,6 +286,9 @@ class ItemServiceImplTest {
         assertEquals(result, updatedItem);
         verify(itemRepository, times(1)).findById(ITEM_ID);
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchEngine, times(1)).onSaved(item);
+        verify(cacheInvalidationBus, times(1))
+                .publish(CacheInvalidation.of(ShareItConstants.ITEMS_CACHE, ITEM_ID));
     }
 
     @Test
@@ -204,49 +299,59 @@ class ItemServiceImplTest {
         subject.delete(item.getId());
 
         verify(itemRepository, times(1)).delete(item);
+        verify(itemSearchEngine, times(1)).onDeleted(item.getId());
+        verify(cacheInvalidationBus, times(1))
+                .publish(CacheInvalidation.of(ShareItConstants.ITEMS_CACHE, item.getId()));
     }
 
     @Test
     void testSearchWhenTextNotEmpty() {
         List<Item> items = generateItems(PAGE_SIZE);
         Pageable pageable = PageRequest.of(0, PAGE_SIZE);
-        when(itemRepository.search("test", pageable))
-                .thenReturn(new PageImpl<>(items));
+        when(itemSearchEngine.search("test", pageable))
+                .thenReturn(new SliceImpl<>(items));
 
-        Page<Item> result = subject.search("test", 0, PAGE_SIZE);
+        Slice<Item> result = subject.search("Test", 0, PAGE_SIZE);
 
         assertEquals(result.toList(), items);
-        verify(itemRepository, times(1)).search("test", pageable);
+        verify(itemSearchEngine, times(1)).search("test", pageable);
     }
 
     @Test
     void testSearchWhenTextEmptyReturnEmpty() {
-        Page<Item> result = subject.search("", 0, PAGE_SIZE);
+        Slice<Item> result = subject.search("", 0, PAGE_SIZE);
 
         assertEquals(result.toList(), Collections.emptyList());
-        verify(itemRepository, times(0)).search(any(), any());
+        verify(itemSearchEngine, times(0)).search(any(), any());
     }
 
     @Test
     void testAddCommentWhenHasBooking() {
-        Booking booking = getDefaultBooking();
         Comment comment = getDefaultComment();
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                eq(comment.getAuthorId()), eq(comment.getItemId()), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(true);
         when(commentRepository.save(comment)).thenReturn(comment);
 
-        Comment result = subject.addComment(comment, List.of(booking));
+        Comment result = subject.addComment(comment);
 
         assertEquals(result, comment);
+        verify(bookingRepository, times(1)).existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                eq(comment.getAuthorId()), eq(comment.getItemId()), eq(Status.APPROVED), any(LocalDateTime.class));
         verify(commentRepository, times(1)).save(comment);
     }
 
 
     @Test
     void testAddCommentWhenHasNoBookingShouldThrow() {
-        Booking booking = getDefaultBooking();
         Comment comment = getDefaultComment();
         comment.setItemId(ITEM_ID + 1);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                eq(comment.getAuthorId()), eq(comment.getItemId()), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(false);
 
         assertThrows(ValidationException.class,
-                () -> subject.addComment(comment, List.of(booking)));
+                () -> subject.addComment(comment));
+        verifyNoInteractions(commentRepository);
     }
 }
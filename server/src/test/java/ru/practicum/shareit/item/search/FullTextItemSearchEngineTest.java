@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.ItemTestUtils.generateItems;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextItemSearchEngineTest {
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private FullTextItemSearchEngine subject;
+
+    @Test
+    void testToTsQueryMatchesEveryWordAsPrefix() {
+        assertEquals("аккумуляторная:* & дрель:*", FullTextItemSearchEngine.toTsQuery("аккумуляторная дрель"));
+    }
+
+    @Test
+    void testToTsQueryDropsQuerySyntax() {
+        assertEquals("drill:* & 2000:*", FullTextItemSearchEngine.toTsQuery("drill & !2000:* | ("));
+    }
+
+    @Test
+    void testSearchDelegatesTsQuery() {
+        List<Item> items = generateItems(2);
+        when(itemRepository.fullTextSearch("дрель:*", pageable)).thenReturn(new SliceImpl<>(items));
+
+        Slice<Item> result = subject.search("дрель", pageable);
+
+        assertEquals(items, result.toList());
+        verify(itemRepository, times(1)).fullTextSearch("дрель:*", pageable);
+    }
+
+    @Test
+    void testSearchWithoutWordsReturnsEmpty() {
+        Slice<Item> result = subject.search("&|!", pageable);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+    private static final int BATCH_SIZE = 2;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+    private final List<Item> items = List.of(
+            new Item(1L, "Дрель", "Аккумуляторная дрель", true, 1L, null),
+            new Item(2L, "Отвертка", "Крестовая отвертка", true, 1L, null),
+            new Item(3L, "Дрель ударная", "Сетевая", false, 2L, null),
+            new Item(4L, "Перфоратор", "Сверлит как дрель", true, 2L, null),
+            new Item(5L, "Лобзик", "Пилит", true, 3L, null));
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InvertedIndexItemSearchEngine subject;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            Pageable batch = invocation.getArgument(1);
+            return items.stream()
+                    .filter(item -> item.getId() > lastId)
+                    .limit(batch.getPageSize())
+                    .collect(Collectors.toList());
+        });
+        subject = new InvertedIndexItemSearchEngine(itemRepository, BATCH_SIZE);
+        subject.rebuild();
+    }
+
+    @Test
+    void testRebuildLoadsItemsInBatches() {
+        verify(itemRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
+        verify(itemRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class));
+        verify(itemRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(4L), any(Pageable.class));
+        verifyNoMoreInteractions(itemRepository);
+    }
+
+    @Test
+    void testSearchMatchesWordPrefixIgnoringCase() {
+        assertEquals(List.of(1L, 4L), ids(subject.search("ДРЕЛ", pageable)));
+    }
+
+    @Test
+    void testSearchSkipsUnavailableItems() {
+        assertTrue(subject.search("ударная", pageable).isEmpty());
+    }
+
+    @Test
+    void testSearchRequiresEveryWord() {
+        assertEquals(List.of(1L), ids(subject.search("аккум дрель", pageable)));
+    }
+
+    @Test
+    void testSearchPagesResults() {
+        Slice<Item> result = subject.search("дрель", PageRequest.of(1, 1));
+
+        assertEquals(List.of(4L), ids(result));
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void testSearchWithoutWordsReturnsEmpty() {
+        assertTrue(subject.search("&|!", pageable).isEmpty());
+    }
+
+    @Test
+    void testOnSavedReindexesItem() {
+        subject.onSaved(new Item(1L, "Шуруповерт", "Аккумуляторный", true, 1L, null));
+        subject.onSaved(new Item(3L, "Дрель ударная", "Сетевая", true, 2L, null));
+
+        assertEquals(List.of(3L, 4L), ids(subject.search("дрель", pageable)));
+        assertEquals(List.of(1L), ids(subject.search("шуруп", pageable)));
+    }
+
+    @Test
+    void testOnSavedRemovesItemWhenUnavailable() {
+        subject.onSaved(new Item(4L, "Перфоратор", "Сверлит как дрель", false, 2L, null));
+
+        assertEquals(List.of(1L), ids(subject.search("дрель", pageable)));
+    }
+
+    @Test
+    void testOnDeletedRemovesItem() {
+        subject.onDeleted(1L);
+
+        assertEquals(List.of(4L), ids(subject.search("дрель", pageable)));
+    }
+
+    @Test
+    void testOnOwnerDeletedRemovesOwnerItems() {
+        subject.onOwnerDeleted(1L);
+
+        assertEquals(List.of(4L), ids(subject.search("дрель", pageable)));
+        assertTrue(subject.search("отвертка", pageable).isEmpty());
+    }
+
+    private static List<Long> ids(Slice<Item> page) {
+        return page.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -11,39 +11,47 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.common.ETagConfig;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDescriptionDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.common.ShareItConstants.USER_ID_HEADER;
 import static ru.practicum.shareit.item.ItemTestUtils.generateItems;
 import static ru.practicum.shareit.request.ItemRequestTestUtils.assertItemAtIndex;
 import static ru.practicum.shareit.request.ItemRequestTestUtils.assertItemRequestAtIndex;
+import static ru.practicum.shareit.request.ItemRequestTestUtils.generateItemsForRequests;
 import static ru.practicum.shareit.request.ItemRequestTestUtils.generateRequests;
 import static ru.practicum.shareit.request.ItemRequestTestUtils.getDefaultRequest;
 import static ru.practicum.shareit.user.UserTestUtils.USER_ID;
 import static ru.practicum.shareit.utils.JsonTestUtils.configJsonProvider;
 
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import(ETagConfig.class)
 @ExtendWith(MockitoExtension.class)
 class ItemRequestControllerTest {
 
@@ -125,12 +133,53 @@ class ItemRequestControllerTest {
         verifyNoMoreInteractions(itemService);
     }
 
+    @Test
+    void getByIdReturnsETagOfBody() throws Exception {
+        ItemRequest itemRequest = getDefaultRequest();
+
+        when(itemRequestService.getById(USER_ID, itemRequest.getId())).thenReturn(itemRequest);
+        when(itemService.getAllByRequestIdOrderByIdAsc(itemRequest.getId())).thenReturn(generateItems(2));
+
+        String eTag = mockMvc.perform(get(REQUESTS_ENDPOINT + itemRequest.getId())
+                        .header(USER_ID_HEADER, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(REQUESTS_ENDPOINT + itemRequest.getId())
+                        .header(USER_ID_HEADER, USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void createReturnsNoETag() throws Exception {
+        ItemRequest itemRequest = getDefaultRequest();
+        ItemRequestDescriptionDto itemRequestDto = ItemRequestDescriptionDto.builder()
+                .description(itemRequest.getDescription())
+                .build();
+
+        when(itemRequestService.add(any(ItemRequest.class))).thenReturn(itemRequest);
+
+        mockMvc.perform(post(REQUESTS_ENDPOINT)
+                        .header(USER_ID_HEADER, USER_ID)
+                        .content(mapper.writeValueAsString(itemRequestDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     void getAllByRequester() throws Exception {
-        List<Item> items = generateItems(10);
         List<ItemRequest> itemRequests = generateRequests(10);
+        List<Item> items = generateItemsForRequests(itemRequests, 2);
+        Set<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toSet());
         when(itemRequestService.getAllByRequesterId(USER_ID)).thenReturn(itemRequests);
-        when(itemService.getAllByRequestIdOrderByIdAsc(anyLong())).thenReturn(items);
+        when(itemService.getAllByRequestIdInOrderByIdAsc(requestIds)).thenReturn(items);
 
         MvcResult result = mockMvc.perform(get(REQUESTS_ENDPOINT)
                         .header(USER_ID_HEADER, USER_ID))
@@ -139,24 +188,25 @@ class ItemRequestControllerTest {
 
         String response = result.getResponse().getContentAsString();
         for (int index = 0; index < itemRequests.size(); index++) {
-            assertItemRequestAtIndex(response, itemRequests, items, index);
+            assertItemRequestAtIndex(response, itemRequests, itemsOfRequest(items, itemRequests.get(index)), index);
         }
 
         verify(itemRequestService, times(1))
                 .getAllByRequesterId(USER_ID);
-        verify(itemService, times(itemRequests.size()))
-                .getAllByRequestIdOrderByIdAsc(anyLong());
+        verify(itemService, times(1))
+                .getAllByRequestIdInOrderByIdAsc(requestIds);
         verifyNoMoreInteractions(itemRequestService);
         verifyNoMoreInteractions(itemService);
     }
 
     @Test
     void getAllExisted() throws Exception {
-        List<Item> items = generateItems(3);
         List<ItemRequest> itemRequests = generateRequests(PAGE_SIZE_DEFAULT);
+        List<Item> items = generateItemsForRequests(itemRequests.subList(0, 3), 1);
+        Set<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toSet());
         when(itemRequestService.getExistedForUserId(USER_ID, PAGE_START_FROM, PAGE_SIZE_DEFAULT))
-                .thenReturn(new PageImpl<>(itemRequests));
-        when(itemService.getAllByRequestIdOrderByIdAsc(anyLong())).thenReturn(items);
+                .thenReturn(new SliceImpl<>(itemRequests));
+        when(itemService.getAllByRequestIdInOrderByIdAsc(requestIds)).thenReturn(items);
 
         MvcResult result = mockMvc.perform(get(REQUESTS_ENDPOINT + "all")
                         .header(USER_ID_HEADER, USER_ID))
@@ -165,14 +215,20 @@ class ItemRequestControllerTest {
 
         String response = result.getResponse().getContentAsString();
         for (int index = 0; index < itemRequests.size(); index++) {
-            assertItemRequestAtIndex(response, itemRequests, items, index);
+            assertItemRequestAtIndex(response, itemRequests, itemsOfRequest(items, itemRequests.get(index)), index);
         }
 
         verify(itemRequestService, times(1))
                 .getExistedForUserId(USER_ID, PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        verify(itemService, times(itemRequests.size()))
-                .getAllByRequestIdOrderByIdAsc(anyLong());
+        verify(itemService, times(1))
+                .getAllByRequestIdInOrderByIdAsc(requestIds);
         verifyNoMoreInteractions(itemRequestService);
         verifyNoMoreInteractions(itemService);
     }
-}
\ No newline at end of file
+
+    private static List<Item> itemsOfRequest(List<Item> items, ItemRequest request) {
+        return items.stream()
+                .filter(item -> request.getId().equals(item.getRequestId()))
+                .collect(Collectors.toList());
+    }
+}
@@ -5,12 +5,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -18,6 +18,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -33,7 +34,7 @@ class ItemRequestServiceImplTest {
     private static final int PAGE_SIZE_DEFAULT = 10;
 
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
     @Mock
     private ItemRequestRepository itemRequestRepository;
     @InjectMocks
@@ -43,15 +44,14 @@ class ItemRequestServiceImplTest {
     void add() {
         ItemRequest itemRequest = getDefaultRequest();
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.save(itemRequest)).thenReturn(itemRequest);
 
         ItemRequest result = subject.add(itemRequest);
 
         assertEquals(itemRequest, result);
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceChecker, times(1)).check(user.getId());
         verify(itemRequestRepository, times(1)).save(itemRequest);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -59,11 +59,11 @@ class ItemRequestServiceImplTest {
     void addWhenUserNotExists() {
         ItemRequest itemRequest = getDefaultRequest();
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class, () -> subject.add(itemRequest));
-        verify(userRepository, times(1)).findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1)).check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -71,15 +71,14 @@ class ItemRequestServiceImplTest {
     void getById() {
         ItemRequest itemRequest = getDefaultRequest();
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
 
         ItemRequest result = subject.getById(user.getId(), itemRequest.getId());
 
         assertEquals(itemRequest, result);
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceChecker, times(1)).check(user.getId());
         verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -87,11 +86,11 @@ class ItemRequestServiceImplTest {
     void getByIdWhenUserNotExists() {
         ItemRequest itemRequest = getDefaultRequest();
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class, () -> subject.getById(user.getId(), itemRequest.getId()));
-        verify(userRepository, times(1)).findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1)).check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -99,13 +98,12 @@ class ItemRequestServiceImplTest {
     void getByIdWhenItemRequestNotExists() {
         ItemRequest itemRequest = getDefaultRequest();
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> subject.getById(user.getId(), itemRequest.getId()));
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceChecker, times(1)).check(user.getId());
         verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -113,30 +111,29 @@ class ItemRequestServiceImplTest {
     void getAllByRequesterId() {
         List<ItemRequest> itemRequests = generateRequests(3);
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.getAllByRequesterIdOrderByCreatedAsc(user.getId()))
                 .thenReturn(itemRequests);
 
         List<ItemRequest> result = subject.getAllByRequesterId(user.getId());
 
         assertEquals(itemRequests, result);
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceChecker, times(1)).check(user.getId());
         verify(itemRequestRepository, times(1))
                 .getAllByRequesterIdOrderByCreatedAsc(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
     @Test
     void getAllByRequesterIdWhenUserNotExists() {
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class,
                 () -> subject.getAllByRequesterId(user.getId()));
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1)).check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
@@ -145,30 +142,29 @@ class ItemRequestServiceImplTest {
         List<ItemRequest> itemRequests = generateRequests(PAGE_SIZE_DEFAULT);
         User user = getDefaultUser();
         Pageable pageable = PageRequest.of(PAGE_START_FROM, PAGE_SIZE_DEFAULT);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.getAllByRequesterIdNotOrderByCreatedAsc(user.getId(), pageable))
-                .thenReturn(new PageImpl<>(itemRequests));
+                .thenReturn(new SliceImpl<>(itemRequests));
 
-        Page<ItemRequest> result = subject.getExistedForUserId(user.getId(), PAGE_START_FROM, PAGE_SIZE_DEFAULT);
+        Slice<ItemRequest> result = subject.getExistedForUserId(user.getId(), PAGE_START_FROM, PAGE_SIZE_DEFAULT);
 
         assertEquals(itemRequests, result.toList());
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceChecker, times(1)).check(user.getId());
         verify(itemRequestRepository, times(1))
                 .getAllByRequesterIdNotOrderByCreatedAsc(user.getId(), pageable);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 
     @Test
     void getExistedForUserIdWhenUserNotExists() {
         User user = getDefaultUser();
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(userExistenceChecker).check(user.getId());
 
         assertThrows(NotFoundException.class,
                 () -> subject.getExistedForUserId(user.getId(), PAGE_START_FROM, PAGE_SIZE_DEFAULT));
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verifyNoMoreInteractions(userRepository);
+        verify(userExistenceChecker, times(1)).check(user.getId());
+        verifyNoMoreInteractions(userExistenceChecker);
         verifyNoMoreInteractions(itemRequestRepository);
     }
 }
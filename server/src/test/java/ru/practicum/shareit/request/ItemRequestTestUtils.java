@@ -32,6 +32,19 @@ public class ItemRequestTestUtils {
         return itemRequests;
     }
 
+    public static List<Item> generateItemsForRequests(final List<ItemRequest> itemRequests, final int perRequest) {
+        List<Item> items = new ArrayList<>();
+
+        long id = 1;
+        for (ItemRequest itemRequest : itemRequests) {
+            for (int i = 0; i < perRequest; i++, id++) {
+                items.add(new Item(id, "item" + id, "description" + id, true, REQUESTER_ID + 1, itemRequest.getId()));
+            }
+        }
+
+        return items;
+    }
+
     public static void assertItemRequestAtIndex(
             final String response, final List<ItemRequest> itemRequests, List<Item> items, final int index) {
         assertThat(JsonPath.read(response, "$[" + index + "].id"),
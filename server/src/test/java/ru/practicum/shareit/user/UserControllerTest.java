@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -33,6 +34,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.user.UserTestUtils.USER_ID;
@@ -83,6 +86,28 @@ class UserControllerTest {
         verify(userService, times(1)).getById(user.getId());
     }
 
+    @Test
+    void testGetByIdReturnsETagOfUserVersion() throws Exception {
+        User user = getDefaultUser().toBuilder()
+                .version(3L)
+                .build();
+        when(userService.getById(USER_ID)).thenReturn(user);
+
+        mockMvc.perform(get(USERS_ENDPOINT + user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-3\""));
+
+        mockMvc.perform(get(USERS_ENDPOINT + user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get(USERS_ENDPOINT + user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(user.getName())));
+    }
+
     @Test
     void testGetByIdWhenNoUserExistShouldReturnNotFound() throws Exception {
         when(userService.getById(USER_ID)).thenThrow(new NotFoundException(""));
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.UserTestUtils.USER_ID;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCheckerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExistenceChecker subject;
+
+    @Test
+    void testCheckWhenUserExists() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        assertDoesNotThrow(() -> subject.check(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void testCheckWhenUserNotExistsShouldThrow() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> subject.check(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+        verifyNoMoreInteractions(userRepository);
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.common.ShareItConstants;
+import ru.practicum.shareit.common.cache.CacheInvalidation;
+import ru.practicum.shareit.common.cache.CacheInvalidationBus;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,6 +30,10 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
 
     @InjectMocks
     private UserServiceImpl subject;
@@ -60,6 +69,18 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById(USER_ID);
     }
 
+    @Test
+    void testGetAllByIds() {
+        List<User> users = generateUsers(3);
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        when(userRepository.findAllById(ids)).thenReturn(users);
+
+        List<User> result = subject.getAllByIds(ids);
+
+        assertEquals(users, result);
+        verify(userRepository, times(1)).findAllById(ids);
+    }
+
     @Test
     void testAdd() {
         User user = getDefaultUser();
@@ -87,6 +108,8 @@ class UserServiceImplTest {
         assertEquals(updatedUser, result);
         verify(userRepository, times(1)).findById(user.getId());
         verify(userRepository, times(1)).save(updatedUser);
+        verify(cacheInvalidationBus, times(1))
+                .publish(CacheInvalidation.of(ShareItConstants.USERS_CACHE, user.getId()));
     }
 
     @Test
@@ -97,5 +120,10 @@ class UserServiceImplTest {
         subject.delete(user.getId());
 
         verify(userRepository, times(1)).delete(user);
+        verify(itemSearchEngine, times(1)).onOwnerDeleted(user.getId());
+        verify(cacheInvalidationBus, times(1))
+                .publish(CacheInvalidation.of(ShareItConstants.USERS_CACHE, user.getId()));
+        verify(cacheInvalidationBus, times(1))
+                .publish(CacheInvalidation.allEntries(ShareItConstants.ITEMS_CACHE));
     }
 }